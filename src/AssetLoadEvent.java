@@ -0,0 +1,41 @@
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import org.newdawn.slick.Image;
+
+/**
+ * Flight Recorder event for the images an init method loads. The event is begun before the first image and every
+ * image is passed through add, which counts it and its decoded size.
+ */
+@Name("pacman.AssetLoad")
+@Label("Asset Load")
+@Category("Pacman")
+@Description("Images loaded by one init method")
+public class AssetLoadEvent extends Event {
+	@Label("Component")
+	String component;
+
+	@Label("Asset Count")
+	int assetCount;
+
+	@Label("Texture Bytes")
+	@Description("Size of the loaded images at 4 bytes per pixel")
+	@DataAmount
+	long textureBytes;
+
+	public AssetLoadEvent(String component) {
+		this.component = component;
+	}
+
+	/**
+	 * This method counts a loaded image and returns it.
+	 */
+	public <T extends Image> T add(T image) {
+		this.assetCount++;
+		this.textureBytes += 4L * image.getWidth() * image.getHeight();
+		return image;
+	}
+}
@@ -0,0 +1,44 @@
+/**
+ * CollisionKernel holds the closed form contact tests the game needs, on plain coordinates instead of Slick shapes.
+ * Slick's Shape.intersects is written for any polygon, while two circles only need their center distance. Touching
+ * edges do not count as contact. Characters never test walls: they move along tile centers and read the open
+ * directions of the tiles.
+ */
+public final class CollisionKernel {
+	private CollisionKernel() {
+	}
+
+	/**
+	 * This method returns if two circles overlap.
+	 */
+	public static boolean getIsCircleTouchingCircle(int centerX, int centerY, int radius, int otherCenterX,
+													int otherCenterY, int otherRadius) {
+		long dx = otherCenterX - centerX;
+		long dy = otherCenterY - centerY;
+		long radiusSum = radius + otherRadius;
+		return dx * dx + dy * dy < radiusSum * radiusSum;
+	}
+
+	/**
+	 * This method returns if two circles moving in straight lines at constant speed during the same time overlap at
+	 * any moment of that time, not only at its start or end. Fast circles crossing each other between two ticks are
+	 * therefore found. The moment of closest approach is found from the relative motion of the circles.
+	 */
+	public static boolean getIsMovingCircleTouchingMovingCircle(int startX, int startY, int endX, int endY, int radius,
+																int otherStartX, int otherStartY, int otherEndX,
+																int otherEndY, int otherRadius) {
+		double dx = otherStartX - startX;
+		double dy = otherStartY - startY;
+		double vx = (otherEndX - otherStartX) - (endX - startX);
+		double vy = (otherEndY - otherStartY) - (endY - startY);
+		double relativeSpeedSquared = vx * vx + vy * vy;
+		double t = 0;
+		if (relativeSpeedSquared > 0) {
+			t = Math.max(0, Math.min(1, -(dx * vx + dy * vy) / relativeSpeedSquared));
+		}
+		double nearestX = dx + t * vx;
+		double nearestY = dy + t * vy;
+		double radiusSum = radius + otherRadius;
+		return nearestX * nearestX + nearestY * nearestY < radiusSum * radiusSum;
+	}
+}
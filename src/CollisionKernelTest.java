@@ -0,0 +1,24 @@
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CollisionKernelTest {
+    @Test
+    void getIsCircleTouchingCircle() {
+        assertTrue(CollisionKernel.getIsCircleTouchingCircle(0, 0, 5, 6, 8, 6));
+        assertFalse(CollisionKernel.getIsCircleTouchingCircle(0, 0, 5, 6, 8, 5));
+    }
+
+    @Test
+    void getIsMovingCircleTouchingMovingCircleCrossing() {
+        // Far apart at the start and at the end, but crossing halfway
+        assertTrue(CollisionKernel.getIsMovingCircleTouchingMovingCircle(0, 0, 100, 0, 5, 100, 0, 0, 0, 5));
+        assertFalse(CollisionKernel.getIsCircleTouchingCircle(100, 0, 5, 0, 0, 5));
+    }
+
+    @Test
+    void getIsMovingCircleTouchingMovingCircleSideBySide() {
+        assertFalse(CollisionKernel.getIsMovingCircleTouchingMovingCircle(0, 0, 100, 0, 5, 0, 10, 100, 10, 5));
+        assertTrue(CollisionKernel.getIsMovingCircleTouchingMovingCircle(0, 0, 100, 0, 5, 0, 9, 100, 9, 5));
+    }
+}
@@ -0,0 +1,55 @@
+/**
+ * CollisionPhase resolves ghost and pacman contacts after pacman and all ghosts have moved in a tick, so a contact is
+ * acted on in the tick it happens in. Every ghost is swept from its position at the start of the tick, kept by
+ * GhostStore.beginTick, to its position now, against pacman swept the same way. Ghosts too far from pacman to touch
+ * it in this tick are skipped with a distance bound before the swept test.
+ */
+public class CollisionPhase {
+	private int testedGhostCount = 0;
+
+	/**
+	 * This method tests every ghost in the store for contact with pacman.
+	 * Pacman is immune to ghosts in Arvind mode, no ghost touches it then.
+	 * @param pacman snapshot of pacman taken after it moved in this tick
+	 * @return if any ghost touches pacman
+	 */
+	public boolean run(GhostStore store, PacmanSnapshot pacman) {
+		this.testedGhostCount = 0;
+		if (pacman.getShouldShowArvind()) {
+			return false;
+		}
+		boolean isPacmanTouched = false;
+		int radiusSum = Ghost.ghostCircleRadius + pacman.getCircleRadius();
+		int pacmanTravel = Math.abs(pacman.getX() - pacman.getPreviousX())
+				+ Math.abs(pacman.getY() - pacman.getPreviousY());
+		store.updatePacmanDistances(pacman.getX(), pacman.getY());
+		for (int i = 0; i < store.getSize(); i++) {
+			int ghostTravel = Math.abs(store.getX(i) - store.getPreviousX(i))
+					+ Math.abs(store.getY(i) - store.getPreviousY(i));
+			// The row plus column distance is at most 1.5 times the straight distance, so a ghost further than
+			// this cannot come within radiusSum of pacman while both travel their distance of the tick.
+			if (store.getPacmanDistance(i) < 2 * (pacmanTravel + ghostTravel + radiusSum)) {
+				this.testedGhostCount++;
+				isPacmanTouched |= CollisionKernel.getIsMovingCircleTouchingMovingCircle(
+						store.getPreviousX(i),
+						store.getPreviousY(i),
+						store.getX(i),
+						store.getY(i),
+						Ghost.ghostCircleRadius,
+						pacman.getPreviousX(),
+						pacman.getPreviousY(),
+						pacman.getX(),
+						pacman.getY(),
+						pacman.getCircleRadius());
+			}
+		}
+		return isPacmanTouched;
+	}
+
+	/**
+	 * Getter for the number of ghosts that ran the swept test in the last run
+	 */
+	public int getTestedGhostCount() {
+		return this.testedGhostCount;
+	}
+}
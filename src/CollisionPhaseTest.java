@@ -0,0 +1,39 @@
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CollisionPhaseTest {
+    GhostStore store = new GhostStore(1);
+    CollisionPhase collisionPhase = new CollisionPhase();
+
+    CollisionPhaseTest() {
+        store.add(TileUnits.fromTile(5), TileUnits.fromTile(1), 19, 0);
+        store.beginTick();
+        store.setDir(0, Directions.LEFT, TileUnits.tileSize);
+        store.moveAll();
+    }
+
+    @Test
+    void runFindsCrossingInsideTick() {
+        // Two tiles apart at the start and at the end of the tick, pacman and the ghost pass each other in between
+        PacmanSnapshot pacman = new PacmanSnapshot(TileUnits.fromTile(6), TileUnits.fromTile(1),
+                TileUnits.fromTile(3), TileUnits.fromTile(1), Pacman.pacmanCircleRadius, false);
+        assertTrue(collisionPhase.run(store, pacman));
+        assertEquals(collisionPhase.getTestedGhostCount(), 1);
+    }
+
+    @Test
+    void runSkipsFarGhosts() {
+        PacmanSnapshot pacman = new PacmanSnapshot(TileUnits.fromTile(20), TileUnits.fromTile(1),
+                TileUnits.fromTile(20), TileUnits.fromTile(1), Pacman.pacmanCircleRadius, false);
+        assertFalse(collisionPhase.run(store, pacman));
+        assertEquals(collisionPhase.getTestedGhostCount(), 0);
+    }
+
+    @Test
+    void runInArvindMode() {
+        PacmanSnapshot pacman = new PacmanSnapshot(TileUnits.fromTile(4), TileUnits.fromTile(1),
+                Pacman.pacmanCircleRadius, true);
+        assertFalse(collisionPhase.run(store, pacman));
+    }
+}
@@ -0,0 +1,155 @@
+import java.util.Arrays;
+
+/**
+ * DotLayer holds the dots and fruits left on a map as two bit sets, one bit per tile in row-major order, packed into
+ * long words. Eating clears a bit, the number of dots left is kept up to date as it changes, and drawing only visits
+ * the set bits, so the cost of all three follows the dots left rather than the size of the map. Copying a layer is a
+ * copy of a few words, which lets FrameSnapshot keep its own copy for render.
+ */
+public class DotLayer {
+	private static final int wordShift = 6;
+	private static final int wordMask = 63;
+
+	private int rowCount;
+	private int colCount;
+	private long[] dotWords;
+	private long[] fruitWords;
+	private int dotCount;
+
+	/**
+	 * Constructor for an empty layer
+	 */
+	public DotLayer(int rowCount, int colCount) {
+		this.rowCount = rowCount;
+		this.colCount = colCount;
+		int wordCount = (rowCount * colCount + wordMask) >> wordShift;
+		this.dotWords = new long[wordCount];
+		this.fruitWords = new long[wordCount];
+	}
+
+	/**
+	 * Constructor for the layer of a map at the start, with a dot on every '.' tile and a fruit on every '*' tile
+	 */
+	public DotLayer(MapData mapData) {
+		this(mapData.getRowCount(), mapData.getColCount());
+		this.reset(mapData);
+	}
+
+	/**
+	 * This method puts back the layer of a map at the start, reusing the words of this layer when they have the same
+	 * length.
+	 */
+	public void reset(MapData mapData) {
+		this.rowCount = mapData.getRowCount();
+		this.colCount = mapData.getColCount();
+		int wordCount = (this.rowCount * this.colCount + wordMask) >> wordShift;
+		if (this.dotWords.length != wordCount) {
+			this.dotWords = new long[wordCount];
+			this.fruitWords = new long[wordCount];
+		}
+		else {
+			Arrays.fill(this.dotWords, 0);
+			Arrays.fill(this.fruitWords, 0);
+		}
+		this.dotCount = 0;
+		for (int r = 0; r < this.rowCount; r++) {
+			for (int c = mapData.findTileInRow(r, 0, PackedTileGrid.dot); c != -1;
+				 c = mapData.findTileInRow(r, c + 1, PackedTileGrid.dot)) {
+				int index = r * this.colCount + c;
+				this.dotWords[index >> wordShift] |= 1L << index;
+				this.dotCount++;
+			}
+			for (int c = mapData.findTileInRow(r, 0, PackedTileGrid.fruit); c != -1;
+				 c = mapData.findTileInRow(r, c + 1, PackedTileGrid.fruit)) {
+				int index = r * this.colCount + c;
+				this.fruitWords[index >> wordShift] |= 1L << index;
+			}
+		}
+	}
+
+	/**
+	 * This method makes this layer a copy of other, reusing the words of this layer when they have the same length.
+	 */
+	public void copyFrom(DotLayer other) {
+		this.rowCount = other.rowCount;
+		this.colCount = other.colCount;
+		if (this.dotWords.length != other.dotWords.length) {
+			this.dotWords = new long[other.dotWords.length];
+			this.fruitWords = new long[other.fruitWords.length];
+		}
+		System.arraycopy(other.dotWords, 0, this.dotWords, 0, other.dotWords.length);
+		System.arraycopy(other.fruitWords, 0, this.fruitWords, 0, other.fruitWords.length);
+		this.dotCount = other.dotCount;
+	}
+
+	/**
+	 * This method returns if there is a dot on the tile.
+	 */
+	public boolean getIsDot(int row, int col) {
+		int index = row * this.colCount + col;
+		return (this.dotWords[index >> wordShift] & (1L << index)) != 0;
+	}
+
+	/**
+	 * This method returns if there is a fruit on the tile.
+	 */
+	public boolean getIsFruit(int row, int col) {
+		int index = row * this.colCount + col;
+		return (this.fruitWords[index >> wordShift] & (1L << index)) != 0;
+	}
+
+	/**
+	 * This method removes the dot or fruit on the tile.
+	 */
+	public void clear(int row, int col) {
+		int index = row * this.colCount + col;
+		long bit = 1L << index;
+		if ((this.dotWords[index >> wordShift] & bit) != 0) {
+			this.dotWords[index >> wordShift] &= ~bit;
+			this.dotCount--;
+		}
+		this.fruitWords[index >> wordShift] &= ~bit;
+	}
+
+	/**
+	 * Getter for the number of dots left, fruits not included
+	 */
+	public int getDotCount() {
+		return this.dotCount;
+	}
+
+	/**
+	 * Getter for rowCount
+	 */
+	public int getRowCount() {
+		return this.rowCount;
+	}
+
+	/**
+	 * Getter for colCount
+	 */
+	public int getColCount() {
+		return this.colCount;
+	}
+
+	/**
+	 * Getter for the number of words of each bit set
+	 */
+	public int getWordCount() {
+		return this.dotWords.length;
+	}
+
+	/**
+	 * Getter for the dot bits of tiles 64 * wordIndex to 64 * wordIndex + 63
+	 */
+	public long getDotWord(int wordIndex) {
+		return this.dotWords[wordIndex];
+	}
+
+	/**
+	 * Getter for the fruit bits of tiles 64 * wordIndex to 64 * wordIndex + 63
+	 */
+	public long getFruitWord(int wordIndex) {
+		return this.fruitWords[wordIndex];
+	}
+}
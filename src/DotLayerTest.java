@@ -0,0 +1,53 @@
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DotLayerTest {
+    MapData mapData = MapCollections.getMapData(1);
+    DotLayer dotLayer = new DotLayer(mapData);
+
+    @Test
+    void matchMapArray() {
+        int dotCount = 0;
+        for (int r = 0; r < mapData.getRowCount(); r++) {
+            for (int c = 0; c < mapData.getColCount(); c++) {
+                assertEquals(dotLayer.getIsDot(r, c), mapData.getTile(r, c) == '.');
+                assertEquals(dotLayer.getIsFruit(r, c), mapData.getTile(r, c) == '*');
+                dotCount += mapData.getTile(r, c) == '.' ? 1 : 0;
+            }
+        }
+        assertEquals(dotLayer.getDotCount(), dotCount);
+    }
+
+    @Test
+    void clearDotAndFruit() {
+        int dotCount = dotLayer.getDotCount();
+        dotLayer.clear(1, 2);
+        dotLayer.clear(1, 2);
+        assertFalse(dotLayer.getIsDot(1, 2));
+        assertEquals(dotLayer.getDotCount(), dotCount - 1);
+
+        dotLayer.clear(1, 1);
+        assertFalse(dotLayer.getIsFruit(1, 1));
+        assertEquals(dotLayer.getDotCount(), dotCount - 1);
+    }
+
+    @Test
+    void copyIsIndependent() {
+        DotLayer copy = new DotLayer(0, 0);
+        copy.copyFrom(dotLayer);
+        dotLayer.clear(1, 2);
+        assertTrue(copy.getIsDot(1, 2));
+        assertEquals(copy.getDotCount(), dotLayer.getDotCount() + 1);
+        assertEquals(copy.getColCount(), mapData.getColCount());
+    }
+
+    @Test
+    void wordsHoldEveryDot() {
+        int bitCount = 0;
+        for (int w = 0; w < dotLayer.getWordCount(); w++) {
+            bitCount += Long.bitCount(dotLayer.getDotWord(w));
+        }
+        assertEquals(bitCount, dotLayer.getDotCount());
+    }
+}
@@ -0,0 +1,119 @@
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * DynamicRangeHistogram counts samples from 0 up to Long.MAX_VALUE with the same relative precision at every scale,
+ * like an HDR histogram. Values below subBucketCount get a bucket each. Above that, every power of two is split into
+ * subBucketCount buckets of equal width, so a bucket is never wider than 1/subBucketCount of the values it holds,
+ * about 3% with the 32 buckets used here. A nanosecond timer therefore gets nanosecond buckets for short phases and
+ * still counts a stall of seconds, in about two thousand buckets.
+ * It is written and read without locks, from any number of threads.
+ */
+public class DynamicRangeHistogram {
+	private static final int subBucketBits = 5;
+	private static final int subBucketCount = 1 << subBucketBits;
+	private static final int bucketCount = (64 - subBucketBits) * subBucketCount;
+
+	private final AtomicLongArray bucketCounts = new AtomicLongArray(bucketCount);
+	private final AtomicLong count = new AtomicLong();
+	private final AtomicLong sum = new AtomicLong();
+	private final AtomicLong max = new AtomicLong();
+
+	/**
+	 * This method adds a sample. Negative samples are counted as zero.
+	 */
+	public void record(long value) {
+		value = Math.max(0, value);
+		this.bucketCounts.incrementAndGet(getBucketIndex(value));
+		this.count.incrementAndGet();
+		this.sum.addAndGet(value);
+		this.max.accumulateAndGet(value, Math::max);
+	}
+
+	/**
+	 * Getter for the number of samples
+	 */
+	public long getCount() {
+		return this.count.get();
+	}
+
+	/**
+	 * Getter for the sum of the samples
+	 */
+	public long getSum() {
+		return this.sum.get();
+	}
+
+	/**
+	 * Getter for the mean of the samples, 0 without samples
+	 */
+	public double getMean() {
+		long count = this.count.get();
+		return count == 0 ? 0 : (double) this.sum.get() / count;
+	}
+
+	/**
+	 * Getter for the largest sample
+	 */
+	public long getMax() {
+		return this.max.get();
+	}
+
+	/**
+	 * This method returns the upper end of the bucket holding the given percentile of the samples, or 0 without
+	 * samples. The result is never larger than the largest sample.
+	 * @param percentile between 0 and 100
+	 */
+	public long getPercentile(double percentile) {
+		long count = this.count.get();
+		if (count == 0) {
+			return 0;
+		}
+		long rank = Math.max(1, (long) Math.ceil(count * percentile / 100));
+		long seenCount = 0;
+		for (int i = 0; i < bucketCount; i++) {
+			seenCount += this.bucketCounts.get(i);
+			if (seenCount >= rank) {
+				return Math.min(getBucketUpperEnd(i), this.getMax());
+			}
+		}
+		return this.getMax();
+	}
+
+	/**
+	 * This method removes all samples.
+	 */
+	public void reset() {
+		for (int i = 0; i < bucketCount; i++) {
+			this.bucketCounts.set(i, 0);
+		}
+		this.count.set(0);
+		this.sum.set(0);
+		this.max.set(0);
+	}
+
+	/**
+	 * This method returns the bucket of a value that is not negative.
+	 */
+	static int getBucketIndex(long value) {
+		if (value < subBucketCount) {
+			return (int) value;
+		}
+		int magnitude = 63 - Long.numberOfLeadingZeros(value);
+		int subBucket = (int) (value >>> (magnitude - subBucketBits)) & (subBucketCount - 1);
+		return (magnitude - subBucketBits + 1) * subBucketCount + subBucket;
+	}
+
+	/**
+	 * This method returns the largest value counted by a bucket.
+	 */
+	static long getBucketUpperEnd(int index) {
+		if (index < subBucketCount) {
+			return index;
+		}
+		int magnitude = index / subBucketCount + subBucketBits - 1;
+		long subBucket = index % subBucketCount;
+		long width = 1L << (magnitude - subBucketBits);
+		return (1L << magnitude) + subBucket * width + width - 1;
+	}
+}
@@ -0,0 +1,27 @@
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DynamicRangeHistogramTest {
+    @Test
+    void getBucketIndexRoundTrip() {
+        long[] values = {0, 31, 32, 63, 64, 1000, 123456789, Long.MAX_VALUE};
+        for (long value : values) {
+            int index = DynamicRangeHistogram.getBucketIndex(value);
+            assertTrue(DynamicRangeHistogram.getBucketUpperEnd(index) >= value);
+            assertTrue(index == 0 || DynamicRangeHistogram.getBucketUpperEnd(index - 1) < value);
+        }
+    }
+
+    @Test
+    void getPercentileWithinPrecision() {
+        DynamicRangeHistogram histogram = new DynamicRangeHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i * 1000L);
+        }
+        assertTrue(Math.abs(histogram.getPercentile(50) - 500000) <= 500000 / 32);
+        assertTrue(Math.abs(histogram.getPercentile(99) - 990000) <= 990000 / 32);
+        assertEquals(histogram.getPercentile(100), 1000000);
+        assertEquals(histogram.getMax(), 1000000);
+    }
+}
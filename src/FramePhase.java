@@ -0,0 +1,13 @@
+/**
+ * FramePhase names the parts of a tick and of a frame that FrameTimings measures.
+ */
+public enum FramePhase {
+	INPUT,
+	PACMAN_UPDATE,
+	MAP_UPDATE,
+	GHOST_UPDATE,
+	COLLISION,
+	MAP_RENDER,
+	ENTITY_RENDER,
+	HUD_RENDER
+}
@@ -0,0 +1,147 @@
+/**
+ * FrameSnapshot holds everything MainGameState draws for one simulation tick: pacman, the ghosts, the map tiles and
+ * the game info, with positions in pixels. The simulation fills a snapshot and publishes it through a TripleBuffer.
+ * Once published, a snapshot is not written again until the render thread has moved on to a newer one, so render
+ * reads it without locks.
+ */
+public class FrameSnapshot {
+	private long tick = -1;
+
+	private float pacmanX;
+	private float pacmanY;
+	private Directions pacmanDir = Directions.STILL;
+	private boolean shouldShowArvind;
+
+	private int ghostCount;
+	private float[] ghostX = new float[0];
+	private float[] ghostY = new float[0];
+	private Directions[] ghostDir = new Directions[0];
+
+	// Copy of the dots and fruits left on the map
+	private DotLayer dots = new DotLayer(0, 0);
+
+	private int score;
+	private int lives;
+	private int level;
+
+	/**
+	 * This method copies the state of the game at the end of the given tick into this snapshot.
+	 */
+	public void capture(long tick, Pacman pacman, GhostStore ghostStore, Map map, GameInfo gameInfo) {
+		this.tick = tick;
+
+		this.pacmanX = map.getXFromPosition(pacman.getX());
+		this.pacmanY = map.getYFromPosition(pacman.getY());
+		this.pacmanDir = pacman.getDir();
+		this.shouldShowArvind = pacman.getShouldShowArvind();
+
+		this.ghostCount = ghostStore.getSize();
+		if (this.ghostX.length < this.ghostCount) {
+			this.ghostX = new float[this.ghostCount];
+			this.ghostY = new float[this.ghostCount];
+			this.ghostDir = new Directions[this.ghostCount];
+		}
+		for (int i = 0; i < this.ghostCount; i++) {
+			this.ghostX[i] = map.getXFromPosition(ghostStore.getX(i));
+			this.ghostY[i] = map.getYFromPosition(ghostStore.getY(i));
+			this.ghostDir[i] = ghostStore.getDir(i);
+		}
+
+		this.dots.copyFrom(map.getDotLayer());
+
+		this.score = gameInfo.getScore();
+		this.lives = gameInfo.getLives();
+		this.level = gameInfo.getLevel();
+	}
+
+	/**
+	 * Getter for the tick this snapshot was taken at, -1 when nothing was captured yet
+	 */
+	public long getTick() {
+		return this.tick;
+	}
+
+	/**
+	 * Getter for pacmanX
+	 */
+	public float getPacmanX() {
+		return this.pacmanX;
+	}
+
+	/**
+	 * Getter for pacmanY
+	 */
+	public float getPacmanY() {
+		return this.pacmanY;
+	}
+
+	/**
+	 * Getter for pacmanDir
+	 */
+	public Directions getPacmanDir() {
+		return this.pacmanDir;
+	}
+
+	/**
+	 * Getter for shouldShowArvind
+	 */
+	public boolean getShouldShowArvind() {
+		return this.shouldShowArvind;
+	}
+
+	/**
+	 * Getter for ghostCount
+	 */
+	public int getGhostCount() {
+		return this.ghostCount;
+	}
+
+	/**
+	 * Getter for x of the ghost in the given slot
+	 */
+	public float getGhostX(int index) {
+		return this.ghostX[index];
+	}
+
+	/**
+	 * Getter for y of the ghost in the given slot
+	 */
+	public float getGhostY(int index) {
+		return this.ghostY[index];
+	}
+
+	/**
+	 * Getter for dir of the ghost in the given slot
+	 */
+	public Directions getGhostDir(int index) {
+		return this.ghostDir[index];
+	}
+
+	/**
+	 * Getter for dots
+	 */
+	public DotLayer getDots() {
+		return this.dots;
+	}
+
+	/**
+	 * Getter for score
+	 */
+	public int getScore() {
+		return this.score;
+	}
+
+	/**
+	 * Getter for lives
+	 */
+	public int getLives() {
+		return this.lives;
+	}
+
+	/**
+	 * Getter for level
+	 */
+	public int getLevel() {
+		return this.level;
+	}
+}
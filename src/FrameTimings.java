@@ -0,0 +1,39 @@
+import java.util.EnumMap;
+
+/**
+ * FrameTimings keeps a DynamicRangeHistogram of the duration in nanoseconds of every FramePhase. The simulation and
+ * render phases are recorded from their own threads and can be read from any thread.
+ */
+public class FrameTimings {
+	private final EnumMap<FramePhase, DynamicRangeHistogram> histograms = new EnumMap<>(FramePhase.class);
+
+	public FrameTimings() {
+		for (FramePhase phase : FramePhase.values()) {
+			this.histograms.put(phase, new DynamicRangeHistogram());
+		}
+	}
+
+	/**
+	 * This method records a phase that started at startNanos and ends now.
+	 * @return the end of the phase, which is the start of the phase after it
+	 */
+	public long record(FramePhase phase, long startNanos) {
+		long endNanos = System.nanoTime();
+		this.histograms.get(phase).record(endNanos - startNanos);
+		return endNanos;
+	}
+
+	/**
+	 * Getter for the histogram of a phase
+	 */
+	public DynamicRangeHistogram get(FramePhase phase) {
+		return this.histograms.get(phase);
+	}
+
+	/**
+	 * This method removes the samples of all phases.
+	 */
+	public void reset() {
+		this.histograms.values().forEach(DynamicRangeHistogram::reset);
+	}
+}
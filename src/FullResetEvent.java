@@ -0,0 +1,23 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event for MainGameState.fullGameReset, which starts a new game after game over.
+ */
+@Name("pacman.FullReset")
+@Label("Full Reset")
+@Category("Pacman")
+@Description("Start of a new game after game over")
+public class FullResetEvent extends Event {
+	@Label("Previous Level")
+	int previousLevel;
+
+	@Label("Previous Score")
+	int previousScore;
+
+	@Label("Ghost Count")
+	int ghostCount;
+}
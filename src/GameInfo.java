@@ -5,6 +5,7 @@ import java.nio.file.Paths;
 import java.util.*;
 import java.util.stream.Collectors;
 import org.newdawn.slick.Graphics;
+import org.newdawn.slick.SlickException;
 
 /**
  * GameInfo is the class that initializes the score in the game, keeps track of it, and display it on the game window.
@@ -12,12 +13,21 @@ import org.newdawn.slick.Graphics;
 public class GameInfo {
 	private static final int initialScore = 0;
 	private static final int initialLives = 3;
-	private static final int initialLevel = 1;
+	public static final int initialLevel = 1;
 
 	private int score;
 	private int lives;
 	private int level;
 
+	// Lines of the HUD, each drawn again only when the number in it changes
+	private final HudText powerText = new HudText("Press 'P' to see real power");
+	private final HudText levelText = new HudText("Level:");
+	private final HudText scoreText = new HudText("Score: ");
+	private final HudText livesText = new HudText("Remaining lives: ");
+
+	// Duration of updateHighScore in nanoseconds
+	private final DynamicRangeHistogram highScoreStoreNanos = new DynamicRangeHistogram();
+
 	public GameInfo() {
 		this.reset();
 	}
@@ -30,14 +40,31 @@ public class GameInfo {
 	}
 
 	/**
-	 * Renders game info printed on the game screen
+	 * Renders game info printed on the game screen, with the values of a FrameSnapshot
 	 */
-	public void render(Graphics g) {
-		g.drawString("Press 'P' to see real power", 10, 0);
+	public void render(Graphics g, int level, int score, int lives, RenderCounters renderCounters) {
+		this.powerText.render(g, 10, 0, renderCounters);
 
-		g.drawString("Level:" + this.level, 10, 50);
-		g.drawString("Score: " + this.score, 10, 70);
-		g.drawString("Remaining lives: " + this.lives, 10, 90);
+		this.levelText.render(g, level, 10, 50, renderCounters);
+		this.scoreText.render(g, score, 10, 70, renderCounters);
+		this.livesText.render(g, lives, 10, 90, renderCounters);
+	}
+
+	/**
+	 * Creates the offscreen images of the HUD lines. Without them the HUD is drawn with the font every frame.
+	 */
+	public void initHud() {
+		AssetLoadEvent assetLoad = new AssetLoadEvent("GameInfo");
+		assetLoad.begin();
+		try {
+			assetLoad.add(this.powerText.init());
+			assetLoad.add(this.levelText.init());
+			assetLoad.add(this.scoreText.init());
+			assetLoad.add(this.livesText.init());
+		} catch (SlickException e) {
+			e.printStackTrace();
+		}
+		assetLoad.commit();
 	}
 
 	/**
@@ -75,6 +102,13 @@ public class GameInfo {
 		return this.level;
 	}
 
+	/**
+	 * Getter for the durations of updateHighScore in nanoseconds
+	 */
+	public DynamicRangeHistogram getHighScoreStoreNanos() {
+		return this.highScoreStoreNanos;
+	}
+
 	/**
 	 * Reset score, lives, level back to initial values
 	 */
@@ -89,6 +123,23 @@ public class GameInfo {
 	 * @return
 	 */
 	public boolean updateHighScore() {
+		HighScoreIoEvent highScoreIo = new HighScoreIoEvent();
+		highScoreIo.begin();
+		long startNanos = System.nanoTime();
+		boolean isUpdated = this.rewriteHighScores(highScoreIo);
+		this.highScoreStoreNanos.record(System.nanoTime() - startNanos);
+		highScoreIo.score = this.getScore();
+		highScoreIo.isSucceeded = isUpdated;
+		highScoreIo.commit();
+		return isUpdated;
+	}
+
+	/**
+	 * Put the current score into the high score file if it is high enough
+	 * @param highScoreIo event to count the bytes read and written in
+	 * @return if the file was read and written
+	 */
+	private boolean rewriteHighScores(HighScoreIoEvent highScoreIo) {
 		// List<String> lines = Arrays.asList("0", "0", "0", "0", "0", "0", "0", "0", "0", "0");
 		Path file = Paths.get("high-scores.txt");
 		List<String> lines = Collections.emptyList();
@@ -99,6 +150,7 @@ public class GameInfo {
 			// do nothing...
 			return false;
 		}
+		highScoreIo.bytesRead = getLineBytes(lines);
 		if (lines.size() != 10) {
 			return false;
 		}
@@ -118,6 +170,18 @@ public class GameInfo {
 			// do nothing...
 			return false;
 		}
+		highScoreIo.bytesWritten = getLineBytes(newLines);
 		return true;
 	}
+
+	/**
+	 * Size in the file of lines of digits, one byte per digit and one per line separator
+	 */
+	private static long getLineBytes(List<String> lines) {
+		long bytes = 0;
+		for (String line : lines) {
+			bytes += line.length() + System.lineSeparator().length();
+		}
+		return bytes;
+	}
 }
@@ -0,0 +1,117 @@
+import java.util.ArrayList;
+
+/**
+ * GameLevel holds the objects MainGameState plays a level with: the map, pacman and the ghosts with their store.
+ * They are built without the display, so a level can be built on the LevelPreparer thread. Loading the images and
+ * placing the ghosts happens on the render thread when the level starts.
+ *
+ * A GameLevel is reused for later levels: reset puts the same objects on the map of the new level, so changing levels
+ * over a long session does not leave the objects of every played level behind as garbage.
+ */
+public class GameLevel {
+	private final boolean isDebug;
+
+	private MapData mapData;
+	private float elementPixelUnit;
+	private Map map;
+	private Pacman pacman;
+	private GhostStore ghostStore;
+	// Ghosts of this level, in the order of their slots in the store
+	private final ArrayList<Ghost> ghosts = new ArrayList<>();
+	// Every ghost created for this GameLevel, the first ones are reused by the next level
+	private final ArrayList<Ghost> ghostPool = new ArrayList<>();
+
+	public GameLevel(boolean isDebug) {
+		this.isDebug = isDebug;
+	}
+
+	/**
+	 * This method sets up the objects for the start of a level on the given map data, creating only the ones this
+	 * GameLevel does not have yet.
+	 * @param elementPixelUnit how many pixel (xy coordinate unit length) is one row/column equal to.
+	 */
+	public void reset(MapData mapData, float elementPixelUnit, float mapOriginX, float mapOriginY) {
+		this.mapData = mapData;
+		this.elementPixelUnit = elementPixelUnit;
+
+		if (this.map == null) {
+			this.map = new Map(mapData, elementPixelUnit, mapOriginX, mapOriginY, this.isDebug);
+		}
+		else {
+			this.map.reset(mapData, elementPixelUnit, mapOriginX, mapOriginY);
+		}
+		this.map.initNavigation();
+
+		if (this.ghostStore == null) {
+			this.ghostStore = new GhostStore(mapData.getGhostCount());
+		}
+		this.ghostStore.clear();
+		this.ghosts.clear();
+		for (int i = 0; i < mapData.getGhostCount(); i++) {
+			RowColTuple ghostOnMap = mapData.getGhostRowColTuple(i);
+			int ghostX = TileUnits.fromTile(ghostOnMap.col);
+			int ghostY = TileUnits.fromTile(ghostOnMap.row);
+			Ghost ghost;
+			if (i < this.ghostPool.size()) {
+				ghost = this.ghostPool.get(i);
+				ghost.reset(ghostX, ghostY, elementPixelUnit, i);
+			}
+			else {
+				ghost = new Ghost(this.ghostStore, ghostX, ghostY, elementPixelUnit, this.isDebug, i);
+				this.ghostPool.add(ghost);
+			}
+			this.ghosts.add(ghost);
+		}
+
+		int pacmanX = TileUnits.fromTile(mapData.getPacmanRowColTuple().col);
+		int pacmanY = TileUnits.fromTile(mapData.getPacmanRowColTuple().row);
+		if (this.pacman == null) {
+			this.pacman = new Pacman(pacmanX, pacmanY, elementPixelUnit, this.isDebug);
+		}
+		else {
+			this.pacman.reset(pacmanX, pacmanY, elementPixelUnit);
+		}
+	}
+
+	/**
+	 * Getter for mapData
+	 */
+	public MapData getMapData() {
+		return this.mapData;
+	}
+
+	/**
+	 * Getter for elementPixelUnit
+	 */
+	public float getElementPixelUnit() {
+		return this.elementPixelUnit;
+	}
+
+	/**
+	 * Getter for map
+	 */
+	public Map getMap() {
+		return this.map;
+	}
+
+	/**
+	 * Getter for pacman
+	 */
+	public Pacman getPacman() {
+		return this.pacman;
+	}
+
+	/**
+	 * Getter for ghostStore
+	 */
+	public GhostStore getGhostStore() {
+		return this.ghostStore;
+	}
+
+	/**
+	 * Getter for ghosts
+	 */
+	public ArrayList<Ghost> getGhosts() {
+		return this.ghosts;
+	}
+}
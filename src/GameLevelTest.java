@@ -0,0 +1,59 @@
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameLevelTest {
+    MapData firstMapData = MapCollections.getMapData(0);
+    MapData secondMapData = MapCollections.getMapData(1);
+    GameLevel level = new GameLevel(false);
+
+    @Test
+    void reuseObjectsOnNextLevel() {
+        level.reset(firstMapData, 20, 0, 0);
+        Map map = level.getMap();
+        Pacman pacman = level.getPacman();
+        GhostStore ghostStore = level.getGhostStore();
+        Ghost firstGhost = level.getGhosts().get(0);
+
+        level.reset(secondMapData, 22, 5, 5);
+        assertSame(level.getMap(), map);
+        assertSame(level.getPacman(), pacman);
+        assertSame(level.getGhostStore(), ghostStore);
+        assertSame(level.getGhosts().get(0), firstGhost);
+        assertSame(level.getMapData(), secondMapData);
+    }
+
+    @Test
+    void resetMatchesNewLevel() {
+        level.reset(firstMapData, 20, 0, 0);
+        level.getMap().update(1, 1);
+        level.getMap().update(1, 2);
+        level.getPacman().setX(0);
+        level.getGhostStore().setX(0, 0);
+
+        level.reset(secondMapData, 22, 5, 5);
+        GameLevel newLevel = new GameLevel(false);
+        newLevel.reset(secondMapData, 22, 5, 5);
+
+        assertEquals(level.getMap().getCurrentDotCount(), newLevel.getMap().getCurrentDotCount());
+        assertEquals(level.getMap().getWallShapes().size(), newLevel.getMap().getWallShapes().size());
+        assertSame(level.getMap().getPathfinder(), newLevel.getMap().getPathfinder());
+        assertEquals(level.getPacman().getX(), newLevel.getPacman().getX());
+        assertEquals(level.getPacman().getY(), newLevel.getPacman().getY());
+        assertEquals(level.getGhosts().size(), newLevel.getGhosts().size());
+        assertEquals(level.getGhostStore().getSize(), newLevel.getGhostStore().getSize());
+        for (int i = 0; i < newLevel.getGhosts().size(); i++) {
+            assertEquals(level.getGhostStore().getX(i), newLevel.getGhostStore().getX(i));
+            assertEquals(level.getGhostStore().getY(i), newLevel.getGhostStore().getY(i));
+            assertEquals(level.getGhosts().get(i).getGhostStartDelay(), newLevel.getGhosts().get(i).getGhostStartDelay());
+        }
+    }
+
+    @Test
+    void resetOnMapWithFewerGhosts() {
+        level.reset(firstMapData, 20, 0, 0);
+        level.reset(MapCollections.generateMapData(21, 21, 0, 7), 20, 0, 0);
+        assertEquals(level.getGhosts().size(), 0);
+        assertEquals(level.getGhostStore().getSize(), 0);
+    }
+}
@@ -0,0 +1,97 @@
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * GameMetrics collects what MetricsServer exports about the game loop. The simulation thread writes it once per tick
+ * through recordTick and the server thread reads it, all without locks. MainGameState only creates it when metrics
+ * are enabled, otherwise the tick does no extra work.
+ */
+public class GameMetrics {
+	private final FrameTimings frameTimings;
+	private final GameInfo gameInfo;
+
+	private final AtomicLong tickCount = new AtomicLong();
+	private final AtomicLong tickAllocatedBytes = new AtomicLong();
+	private final DynamicRangeHistogram tickAllocatedBytesHistogram = new DynamicRangeHistogram();
+	private volatile int ghostCount;
+	private volatile int level;
+	private volatile int score;
+
+	/**
+	 * Constructor
+	 * @param frameTimings phase durations of the game to export
+	 * @param gameInfo game info to export the high score store latency of
+	 */
+	public GameMetrics(FrameTimings frameTimings, GameInfo gameInfo) {
+		this.frameTimings = frameTimings;
+		this.gameInfo = gameInfo;
+	}
+
+	/**
+	 * This method is called by the simulation at the end of every tick.
+	 * @param allocatedBytes bytes the simulation thread allocated during the tick
+	 */
+	public void recordTick(long allocatedBytes, int ghostCount, int level, int score) {
+		this.tickCount.incrementAndGet();
+		this.tickAllocatedBytes.addAndGet(allocatedBytes);
+		this.tickAllocatedBytesHistogram.record(allocatedBytes);
+		this.ghostCount = ghostCount;
+		this.level = level;
+		this.score = score;
+	}
+
+	/**
+	 * Getter for the number of ticks recorded
+	 */
+	public long getTickCount() {
+		return this.tickCount.get();
+	}
+
+	/**
+	 * Getter for the bytes allocated by all recorded ticks
+	 */
+	public long getTickAllocatedBytes() {
+		return this.tickAllocatedBytes.get();
+	}
+
+	/**
+	 * Getter for the histogram of bytes allocated per tick
+	 */
+	public DynamicRangeHistogram getTickAllocatedBytesHistogram() {
+		return this.tickAllocatedBytesHistogram;
+	}
+
+	/**
+	 * Getter for the ghost count of the last tick
+	 */
+	public int getGhostCount() {
+		return this.ghostCount;
+	}
+
+	/**
+	 * Getter for the level of the last tick
+	 */
+	public int getLevel() {
+		return this.level;
+	}
+
+	/**
+	 * Getter for the score of the last tick
+	 */
+	public int getScore() {
+		return this.score;
+	}
+
+	/**
+	 * Getter for frameTimings
+	 */
+	public FrameTimings getFrameTimings() {
+		return this.frameTimings;
+	}
+
+	/**
+	 * Getter for gameInfo
+	 */
+	public GameInfo getGameInfo() {
+		return this.gameInfo;
+	}
+}
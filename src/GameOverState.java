@@ -32,6 +32,10 @@ public class GameOverState extends BasicGameState {
 
     private GameInfo gameInfo;
 
+    // Text of the score and level, built again only when they change
+    private final LabeledIntText scoreText = new LabeledIntText("Your score: ");
+    private final LabeledIntText levelText = new LabeledIntText("Your level: ");
+
     public GameOverState(GameInfo gameInfo) {
         this.gameInfo = gameInfo;
     }
@@ -49,9 +53,12 @@ public class GameOverState extends BasicGameState {
      */
     @Override
     public void init(GameContainer gameContainer, StateBasedGame stateBasedGame) throws SlickException {
-        this.backgroundImage = new Image("images/gameOverWallpaper.jpg");
-        this.replayButtonImage = new Image("images/replayButton.png");
-        this.historyButtonImage = new Image("images/historyScore.png");
+        AssetLoadEvent assetLoad = new AssetLoadEvent("GameOverState");
+        assetLoad.begin();
+        this.backgroundImage = assetLoad.add(new Image("images/gameOverWallpaper.jpg"));
+        this.replayButtonImage = assetLoad.add(new Image("images/replayButton.png"));
+        this.historyButtonImage = assetLoad.add(new Image("images/historyScore.png"));
+        assetLoad.commit();
     }
 
     /**
@@ -86,16 +93,21 @@ public class GameOverState extends BasicGameState {
         this.historyButtonImage.draw(this.historyButtonX, this.historyButtonY, this.historyButtonWidth, this.historyButtonHeight);
 
         float scoreAndLevelX = (float) gameContainer.getWidth() / 2 - 55;
-        graphics.drawString(
-                "Your score: " + this.gameInfo.getScore(),
-                scoreAndLevelX,
-                (float) (gameContainer.getHeight() * 0.3));
-        graphics.drawString(
-                "Your level: " + this.gameInfo.getLevel(),
+        this.drawScoreAndLevel(
+                graphics,
                 scoreAndLevelX,
+                (float) (gameContainer.getHeight() * 0.3),
                 (float) (gameContainer.getHeight() * 0.35));
     }
 
+    /**
+     * Draws the score and the level of the game that ended.
+     */
+    void drawScoreAndLevel(Graphics graphics, float x, float scoreY, float levelY) {
+        graphics.drawString(this.scoreText.get(this.gameInfo.getScore()), x, scoreY);
+        graphics.drawString(this.levelText.get(this.gameInfo.getLevel()), x, levelY);
+    }
+
     /**
      * Overridden method from BasicGameState to check if any button is clicked and perform the state switching related.
      */
@@ -1,8 +1,11 @@
 import org.newdawn.slick.AppGameContainer;
 import org.newdawn.slick.GameContainer;
 import org.newdawn.slick.SlickException;
+import org.newdawn.slick.state.GameState;
 import org.newdawn.slick.state.StateBasedGame;
 
+import java.io.IOException;
+
 /**
  * GameStateManager contains the main method of this project and manages between different states of the game such as
  * game state, game over state, etc.
@@ -15,6 +18,10 @@ public class GameStateManager extends StateBasedGame {
 	public static final int gameOverStateId = 1;
 	public static final int historyHighScoreStateId = 2;
 
+	// The game starts in the first state added, mainGameState
+	private final StateTransitions stateTransitions = new StateTransitions(mainGameStateId);
+	private HistoryHighScoreState historyHighScoreState;
+
 	public GameStateManager(String title) {
 		super(title);
 	}
@@ -29,19 +36,77 @@ public class GameStateManager extends StateBasedGame {
 		// gameInfo object will be shared between MainGateState and GameOverState
 		GameInfo gameInfo = new GameInfo();
 
-		this.addState(new MainGameState(gameWindowWidth, gameWindowHeight, gameInfo, false));
+		// The simulation runs on a thread of its own when started with -Dpacman.simulationThread=true
+		boolean isSimulationThreaded = Boolean.getBoolean("pacman.simulationThread");
+		MainGameState mainGameState =
+				new MainGameState(gameWindowWidth, gameWindowHeight, gameInfo, false, isSimulationThreaded);
+		this.addState(mainGameState);
 		this.addState(new GameOverState(gameInfo));
-		this.addState(new HistoryHighScoreState());
+		this.historyHighScoreState = new HistoryHighScoreState();
+		this.addState(this.historyHighScoreState);
+
+		// Metrics are served on localhost only when started with -Dpacman.metricsPort=PORT
+		Integer metricsPort = Integer.getInteger(MetricsServer.portProperty);
+		if (metricsPort != null) {
+			GameMetrics metrics = new GameMetrics(mainGameState.getFrameTimings(), gameInfo);
+			mainGameState.setMetrics(metrics);
+			try {
+				new MetricsServer(metrics).start(metricsPort);
+			} catch (IOException e) {
+				e.printStackTrace();
+			}
+		}
+	}
+
+	/**
+	 * Overridden from StateBasedGame to only change state when the game goes to another state, and to record a
+	 * StateTransitionEvent when it does. Asking for the active state does nothing, Slick would leave and enter it
+	 * again.
+	 * @param id the id of the state to enter
+	 */
+	@Override
+	public void enterState(int id) {
+		int currentStateId = this.stateTransitions.getCurrentStateId();
+		if (!this.stateTransitions.getIsTransition(id)) {
+			return;
+		}
+		if (this.getState(id) == null) {
+			throw new RuntimeException("No game state registered with the ID: " + id);
+		}
+		StateTransitionEvent stateTransitionEvent = new StateTransitionEvent();
+		stateTransitionEvent.begin();
+		super.enterState(id);
+		// Only a state Slick has entered becomes the active one, input keeps going to the old one otherwise
+		this.stateTransitions.onEntered(id);
+		stateTransitionEvent.fromStateId = currentStateId;
+		stateTransitionEvent.toStateId = id;
+		stateTransitionEvent.commit();
+
+		// The high scores were saved when the game ended, read them while the game over screen is shown
+		if (id == gameOverStateId && this.historyHighScoreState != null) {
+			this.historyHighScoreState.prewarm();
+		}
+	}
+
+	/**
+	 * Getter for the active state and the counts of state changes
+	 */
+	public StateTransitions getStateTransitions() {
+		return this.stateTransitions;
 	}
 
 	/**
-	 * Overridden from StateBaseGame to pass on the key press into mainGameState
+	 * Overridden from StateBaseGame to pass on the key press into the active state only, so keys pressed on the game
+	 * over screens do not reach mainGameState
 	 * @param key the int representation of the key pressed
 	 * @param c the character of the key pressed
 	 */
 	@Override
 	public void keyPressed(int key, char c) {
-		this.getState(mainGameStateId).keyPressed(key, c);
+		GameState currentState = this.getState(this.stateTransitions.getCurrentStateId());
+		if (currentState != null) {
+			currentState.keyPressed(key, c);
+		}
 	}
 
 	/**
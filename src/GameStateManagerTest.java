@@ -0,0 +1,80 @@
+import org.junit.jupiter.api.Test;
+import org.newdawn.slick.GameContainer;
+import org.newdawn.slick.Graphics;
+import org.newdawn.slick.state.BasicGameState;
+import org.newdawn.slick.state.StateBasedGame;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameStateManagerTest {
+    GameStateManager gameStateManager = createGameStateManager();
+
+    /**
+     * State that does nothing, standing in for the states of the game, which need the game window
+     */
+    static class EmptyState extends BasicGameState {
+        private final int id;
+
+        EmptyState(int id) {
+            this.id = id;
+        }
+
+        @Override
+        public int getID() {
+            return id;
+        }
+
+        @Override
+        public void init(GameContainer gameContainer, StateBasedGame stateBasedGame) {
+        }
+
+        @Override
+        public void render(GameContainer gameContainer, StateBasedGame stateBasedGame, Graphics graphics) {
+        }
+
+        @Override
+        public void update(GameContainer gameContainer, StateBasedGame stateBasedGame, int delta) {
+        }
+    }
+
+    static GameStateManager createGameStateManager() {
+        GameStateManager gameStateManager = new GameStateManager("Pacman");
+        gameStateManager.addState(new EmptyState(GameStateManager.mainGameStateId));
+        gameStateManager.addState(new EmptyState(GameStateManager.gameOverStateId));
+        gameStateManager.addState(new EmptyState(GameStateManager.historyHighScoreStateId));
+        return gameStateManager;
+    }
+
+    @Test
+    void noTransitionDuringGameplay() {
+        GameInfo gameInfo = new GameInfo();
+        MainGameState mainGameState = new MainGameState(800, 600, gameInfo, false);
+        int lives = gameInfo.getLives();
+        for (int frame = 0; frame < 60; frame++) {
+            mainGameState.update(null, gameStateManager, 16);
+        }
+        assertEquals(gameInfo.getLives(), lives);
+        assertEquals(gameStateManager.getStateTransitions().getTransitionCount(), 0);
+        assertEquals(gameStateManager.getStateTransitions().getIgnoredRequestCount(), 0);
+        assertEquals(gameStateManager.getStateTransitions().getCurrentStateId(), GameStateManager.mainGameStateId);
+    }
+
+    @Test
+    void enterStateOnlyOnChange() {
+        gameStateManager.enterState(GameStateManager.mainGameStateId);
+        gameStateManager.enterState(GameStateManager.gameOverStateId);
+        gameStateManager.enterState(GameStateManager.gameOverStateId);
+        assertEquals(gameStateManager.getStateTransitions().getTransitionCount(), 1);
+        assertEquals(gameStateManager.getStateTransitions().getIgnoredRequestCount(), 2);
+        assertEquals(gameStateManager.getStateTransitions().getCurrentStateId(), GameStateManager.gameOverStateId);
+    }
+
+    @Test
+    void keepActiveStateWhenEnterFails() {
+        GameStateManager gameStateManager = new GameStateManager("Pacman");
+        gameStateManager.addState(new EmptyState(GameStateManager.mainGameStateId));
+        assertThrows(RuntimeException.class, () -> gameStateManager.enterState(GameStateManager.gameOverStateId));
+        assertEquals(gameStateManager.getStateTransitions().getCurrentStateId(), GameStateManager.mainGameStateId);
+        assertEquals(gameStateManager.getStateTransitions().getTransitionCount(), 0);
+    }
+}
@@ -2,13 +2,10 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Random;
-import org.lwjgl.util.Timer;
 import org.newdawn.slick.Animation;
 import org.newdawn.slick.Graphics;
 import org.newdawn.slick.SlickException;
 import org.newdawn.slick.SpriteSheet;
-import org.newdawn.slick.geom.Circle;
-import org.newdawn.slick.geom.Shape;
 
 /**
  * Ghost class contains all relevant fields and methods related to ghosts moving and nagivating on the map
@@ -16,12 +13,17 @@ import org.newdawn.slick.geom.Shape;
  */
 public class Ghost {
 	private boolean isDebug;
-	public Timer timer = new Timer();
+
+	// Simulation state (position, direction, speed, start delay and flags) lives in a slot of a GhostStore shared by
+	// all ghosts on the map, this object is a view over that slot.
+	private final GhostStore store;
+	private int index;
 
 	private GhostColors ghostColor;
-	// Each ghost on the map to have slightly different time to be activated to avoid movement overlapping
-	private float ghostStartDelay;
-	private HashMap<Directions, Animation> ghostAnimations = new HashMap<>();
+	// Animations are loaded once per ghost color and shared by all ghosts of that color. They are advanced once per
+	// frame by updateSharedAnimations instead of by every ghost.
+	private static HashMap<GhostColors, HashMap<Directions, Animation>> sharedGhostAnimations = new HashMap<>();
+	private HashMap<Directions, Animation> ghostAnimations;
 	private static final int ghostSpriteHeight = 52;
 	private static final int ghostSpriteWidth = 52;
 	private static final int ghostAnimationSpriteDuration = 200;
@@ -31,121 +33,144 @@ public class Ghost {
 	// do not easily crowd up around the pacman to end the game.
 	private static final float ghostChanceOfPickingCorrectPathAtIntersection = 0.5f;
 
-	private float ghostCircleRadius;
+	// The radius of the ghost circle is slightly smaller than 1/2 of the path width, in TileUnits for pacman contact
+	// and in pixels for the debug drawing.
+	public static final int ghostCircleRadius = TileUnits.tileSize / 2 * 99 / 100;
+	private float ghostCirclePixelRadius;
 
 	private float elementPixelUnit;
-	
-	private Circle ghostCircle;
-	private ArrayList<Shape> wallShapesAroundGhost;
-	private Pacman pacman;
-
-	private float closestNonCollisionX;
-	private float closestNonCollisionY;
-
-	private float initialX;
-	private float initialY;
-	private float x;
-	private float y;
-	private Directions dir;
-	private final float speed = 1.5f;
-
-	private boolean isAtIntersection = false;
-	private boolean isCollidingWithWall = false;
-	private boolean isCollidingWithPacman = false;
-		
-	public Ghost(float initialX, float initialY, float elementPixelUnit, boolean isDebug, int ghostIndex) {
+
+	private PacmanSnapshot pacman;
+	private Map map;
+
+	// Every ghost draws from its own random sequence, so the result of an update does not depend on the order or the
+	// thread the ghosts are updated in.
+	private final Random random = new Random();
+
+	// Strategy used to pick the direction at intersections. Its expensive planning is run by GhostBrainScheduler.
+	private GhostBrain brain = new PathfindingGhostBrain();
+
+	// TileUnits per tick of TileUnits.speedTickMillis, 1.5 pixels per tick on a 20 pixel tile
+	private static final int speed = TileUnits.tileSize * 3 / 40;
+
+	/**
+	 * Constructor for a ghost that has a store of its own. The initial position is in TileUnits.
+	 */
+	public Ghost(int initialX, int initialY, float elementPixelUnit, boolean isDebug, int ghostIndex) {
+		this(new GhostStore(1), initialX, initialY, elementPixelUnit, isDebug, ghostIndex);
+	}
+
+	/**
+	 * Constructor for a ghost that keeps its state in a new slot of the given store. The initial position is in
+	 * TileUnits.
+	 */
+	public Ghost(GhostStore store, int initialX, int initialY, float elementPixelUnit, boolean isDebug,
+				 int ghostIndex) {
+		this.store = store;
+		this.index = store.add(initialX, initialY, speed, 0);
 		this.ghostColor = this.getGhostColorFromIndex(ghostIndex);
 		this.setGhostStartDelay(ghostIndex);
 		this.isDebug = isDebug;
 
-		this.initialX = initialX;
-		this.initialY = initialY;
-		this.x = initialX;
-		this.y = initialY;
 		this.elementPixelUnit = elementPixelUnit;
+		this.ghostCirclePixelRadius = (float) ((elementPixelUnit / 2) * 0.99);
+	}
+
+	/**
+	 * This method reuses the ghost on another level. It takes a new slot of its store, which has been cleared, and
+	 * forgets what its brain planned. The initial position is in TileUnits.
+	 */
+	public void reset(int initialX, int initialY, float elementPixelUnit, int ghostIndex) {
+		this.index = this.store.add(initialX, initialY, speed, 0);
+		this.ghostColor = this.getGhostColorFromIndex(ghostIndex);
+		this.ghostAnimations = null;
+		this.setGhostStartDelay(ghostIndex);
 
-		// The radius of the ghost circle is slightly smaller than 1/2 of the path width to avoid triggering collision
-		// when moving in the path.
-		this.ghostCircleRadius = (float) ((elementPixelUnit / 2) * 0.99);
+		this.elementPixelUnit = elementPixelUnit;
+		this.ghostCirclePixelRadius = (float) ((elementPixelUnit / 2) * 0.99);
+		this.pacman = null;
+		this.map = null;
+		this.brain.reset();
 	}
 
 	/**
-	 * This method initializes the direction, ghosts animations, and the ghost circle that actually handles collision.
+	 * This method initializes the direction and the ghosts animations.
 	 */
 	public void init() {
-		this.dir = this.getRandomGhostDir();
+		this.store.setDir(this.index, this.getRandomGhostDir());
+		this.store.stop(this.index);
 
-		this.initializeGhostAnimations();
+		this.ghostAnimations = sharedGhostAnimations.get(this.ghostColor);
+		if (this.ghostAnimations == null) {
+			this.ghostAnimations = this.initializeGhostAnimations();
+			sharedGhostAnimations.put(this.ghostColor, this.ghostAnimations);
+		}
+	}
 
-		// ghostCircle is center positioned while ghost animation is positioned based on top left corner
-		// This is the conversion between animation coordinate and circle coordinate so that they fully overlap.
-		this.ghostCircle = new Circle(
-				this.x + this.elementPixelUnit / 2,
-				this.y + this.elementPixelUnit / 2,
-				this.ghostCircleRadius);
+	/**
+	 * This method sets one animation for every color and direction instead of loading them, so ghosts can be drawn
+	 * without a display.
+	 */
+	static void setAnimations(Animation animation) {
+		for (GhostColors ghostColor : GhostColors.values()) {
+			HashMap<Directions, Animation> animations = new HashMap<>();
+			for (Directions dir : Directions.values()) {
+				animations.put(dir, animation);
+			}
+			sharedGhostAnimations.put(ghostColor, animations);
+		}
+	}
+
+	/**
+	 * This method advances the shared ghost animations. It is called once per frame by MainGameState.
+	 */
+	public static void updateSharedAnimations(int delta) {
+		for (HashMap<Directions, Animation> animations : sharedGhostAnimations.values()) {
+			animations.values().forEach(animation -> animation.update(delta));
+		}
 	}
 	
 	/**
 	 * This update method is called every frame of the game by the governing update method in MainGameState class.
-	 * it updates the positions (x, y) and directions (dir) of the Ghost without needing to process
-	 * any keyboard input. 
-	 */
-	public void update(
-			int delta,
-			ArrayList<Shape> closeByWallShapes,
-			float closestNonCollisionX,
-			float closestNonCollisionY,
-			Pacman pacman
-	) {
-		this.ghostAnimations.values().forEach(animation -> animation.update(delta));
-
-		// Do not start moving the ghost until its time is up.
-		if (this.timer.getTime() < this.ghostStartDelay) {
-			return;
-		}
-
-		this.pacman = pacman;
-		this.setIsCollidingWithPacman();
-
-		this.setWallShapesAroundGhost(closeByWallShapes);
-		this.closestNonCollisionX = closestNonCollisionX;
-		this.closestNonCollisionY = closestNonCollisionY;
-
-		this.updateGhostCirclePosition();
-		this.setIsAtIntersectionAndCollidingWithWall();
-		this.smartMovePerFrame();
-
-		this.timer.tick();
+	 * it updates the direction (dir) of the Ghost without needing to process any keyboard input. The ghost is moved
+	 * afterwards for all ghosts at once by GhostStore.moveAll, and CollisionPhase checks if it touched pacman. It only
+	 * writes the slot of this ghost, so ghosts can be updated in parallel.
+	 */
+	public void update(int delta, PacmanSnapshot pacman, Map map) {
+		this.update(delta, pacman, map, true);
 	}
 
 	/**
-	 * This method renders the ghost animation on the screen based on it's direction. When software is in debug mode,
-	 * the invisible circle is also drawn for debug purposes.
+	 * This is update with the level of detail chosen by GhostUpdatePhase. Without asking the brain, the ghost goes
+	 * straight on at junctions where it can and takes a random open turn where it cannot.
+	 * @param shouldAskBrain if the brain chooses the direction at the junctions reached in this tick
 	 */
-	public void render(Graphics g) {
-		this.ghostAnimations.get(this.dir).draw(this.x, this.y, elementPixelUnit, elementPixelUnit);
-		if (isDebug) {
-			g.draw(this.ghostCircle);
-		}
+	public void update(int delta, PacmanSnapshot pacman, Map map, boolean shouldAskBrain) {
+		this.updateDirection(delta, pacman, map, shouldAskBrain);
 	}
 
 	/**
-	 * This method resets isCollidingWithPacman field back to false
+	 * This method renders the ghost animation on the screen based on it's direction, at the position of a
+	 * FrameSnapshot. When software is in debug mode, the invisible circle is also drawn for debug purposes.
 	 */
-	public void resetIsCollidingWithPacman() {
-		this.isCollidingWithPacman = false;
+	public void render(Graphics g, float x, float y, Directions dir, RenderCounters renderCounters) {
+		Animation animation = this.ghostAnimations.get(dir);
+		animation.draw(x, y, elementPixelUnit, elementPixelUnit);
+		renderCounters.countDraw(RenderComponent.GHOST, animation);
+		if (isDebug) {
+			float diameter = this.ghostCirclePixelRadius * 2;
+			g.drawOval(x + this.elementPixelUnit / 2 - this.ghostCirclePixelRadius,
+					y + this.elementPixelUnit / 2 - this.ghostCirclePixelRadius, diameter, diameter);
+			renderCounters.countShape(RenderComponent.GHOST);
+		}
 	}
 
 	/**
-	 * This method resets the ghost class by resets the timer, ghost and ghost circle position back to initial position,
-	 * and collision condition back to false.
+	 * This method resets the ghost class by resets the start delay, ghost position back to initial position, and
+	 * collision condition back to false.
 	 */
 	public void rest() {
-		this.timer.reset();
-		this.resetIsCollidingWithPacman();
-		this.x = this.initialX;
-		this.y = this.initialY;
-		this.updateGhostCirclePosition();
+		this.store.reset(this.index);
 	}
 
 	/**
@@ -171,16 +196,6 @@ public class Ghost {
 		return Directions.STILL;
 	}
 
-	/**
-	 * When collision is detected, the ghost circle would already be slightly off the center of its path.
-	 * This method moves it back to the center, resets its position to be right before the collision so that the
-	 * collision state is clear and the ghost could change direction.
-	 */
-	public void replaceGhostToPathCenter() {
-		this.x = this.closestNonCollisionX;
-		this.y = this.closestNonCollisionY;
-	}
-
 	/**
 	 * This method returns the sprite folder's directory link for the given ghost color and direction
 	 * @param color ghost color
@@ -209,102 +224,146 @@ public class Ghost {
 	 * Each ghost start one second after the last ghost
 	 */
 	public void setGhostStartDelay(int ghostIndex) {
-		this.ghostStartDelay = (float) (ghostIndex * 2);
+		this.store.setStartDelay(this.index, (float) (ghostIndex * 2));
 	}
 
 	/**
 	 * Getter for ghostStartDelay
 	 */
 	public float getGhostStartDelay() {
-		return this.ghostStartDelay;
+		return this.store.getStartDelay(this.index);
 	}
 
 	/**
-	 * Getter for isCollidingWithPacman
+	 * Getter for x in TileUnits
 	 */
-	public boolean getIsCollidingWithPacman() {
-		return this.isCollidingWithPacman;
+	public int getX() {
+		return this.store.getX(this.index);
 	}
 
 	/**
-	 * Getter for x
+	 * Getter for y in TileUnits
 	 */
-	public float getX() {
-		return this.x;
+	public int getY() {
+		return this.store.getY(this.index);
 	}
 
 	/**
-	 * Getter for y
+	 * Getter for the row of the tile closest to the ghost
 	 */
-	public float getY() {
-		return this.y;
+	public int getRow() {
+		return TileUnits.toTile(this.getY());
 	}
 
 	/**
-	 * Setter for x
+	 * Getter for the column of the tile closest to the ghost
 	 */
-	public void setX(float x) {
-		this.x = x;
+	public int getCol() {
+		return TileUnits.toTile(this.getX());
 	}
 
 	/**
-	 * Setter for y
+	 * Getter for dir
 	 */
-	public void setY(float y) {
-		this.y = y;
+	public Directions getDir() {
+		return this.store.getDir(this.index);
 	}
-	
+
+	/**
+	 * Getter for speed in TileUnits per frame
+	 */
+	public int getSpeed() {
+		return this.store.getSpeed(this.index);
+	}
+
+	/**
+	 * Getter for the slot of this ghost in its store
+	 */
+	public int getIndex() {
+		return this.index;
+	}
+
+	/**
+	 * This method restarts the random sequence of the ghost from the given seed.
+	 */
+	public void setRandomSeed(long seed) {
+		this.random.setSeed(seed);
+	}
+
+	/**
+	 * Getter for brain
+	 */
+	public GhostBrain getBrain() {
+		return this.brain;
+	}
+
 	/**
-	 * This method updates the center x,y of the circle based on the x, y of the ghost animation.
-	 * Ghost animations are drawn based on x, y of its top left corner while the ghost circle
-	 * needs to be positioned based on its center.
+	 * Setter for brain
 	 */
-	private void updateGhostCirclePosition() {
-		this.ghostCircle.setCenterX(this.x + this.elementPixelUnit / 2);
-		this.ghostCircle.setCenterY(this.y + this.elementPixelUnit / 2);
+	public void setBrain(GhostBrain brain) {
+		this.brain = brain;
 	}
 
 	/**
-	 * This method populates the ghostAnimations hashMap with key value pairs of direction and ghost animation of that
-	 * direction.
+	 * Setter for x in TileUnits
 	 */
-	private void initializeGhostAnimations() {
+	public void setX(int x) {
+		this.store.setX(this.index, x);
+	}
+
+	/**
+	 * Setter for y in TileUnits
+	 */
+	public void setY(int y) {
+		this.store.setY(this.index, y);
+	}
+
+	/**
+	 * This method returns a hashMap with key value pairs of direction and ghost animation of that direction for the
+	 * color of this ghost.
+	 */
+	private HashMap<Directions, Animation> initializeGhostAnimations() {
+		HashMap<Directions, Animation> ghostAnimations = new HashMap<>();
+		AssetLoadEvent assetLoad = new AssetLoadEvent("Ghost " + this.ghostColor);
+		assetLoad.begin();
 		try {
-			SpriteSheet upSpriteSheet = new SpriteSheet(
+			SpriteSheet upSpriteSheet = assetLoad.add(new SpriteSheet(
 					this.getGhostSpriteFolderLink(this.ghostColor, Directions.UP),
 					ghostSpriteWidth,
 					ghostSpriteHeight
-			);
+			));
 			Animation upAnimation = new Animation(upSpriteSheet, ghostAnimationSpriteDuration);
 
-			SpriteSheet downSpriteSheet = new SpriteSheet(
+			SpriteSheet downSpriteSheet = assetLoad.add(new SpriteSheet(
 					this.getGhostSpriteFolderLink(this.ghostColor, Directions.DOWN),
 					ghostSpriteWidth,
 					ghostSpriteHeight
-			);
+			));
 			Animation downAnimation = new Animation(downSpriteSheet, ghostAnimationSpriteDuration);
 
-			SpriteSheet leftSpriteSheet = new SpriteSheet(
+			SpriteSheet leftSpriteSheet = assetLoad.add(new SpriteSheet(
 					this.getGhostSpriteFolderLink(this.ghostColor, Directions.LEFT),
 					ghostSpriteWidth,
 					ghostSpriteHeight
-			);
+			));
 			Animation leftAnimation = new Animation(leftSpriteSheet, ghostAnimationSpriteDuration);
 
-			SpriteSheet rightSpriteSheet = new SpriteSheet(
+			SpriteSheet rightSpriteSheet = assetLoad.add(new SpriteSheet(
 					this.getGhostSpriteFolderLink(this.ghostColor, Directions.RIGHT),
 					ghostSpriteWidth,
 					ghostSpriteHeight
-			);
+			));
 			Animation rightAnimation = new Animation(rightSpriteSheet, ghostAnimationSpriteDuration);
 
-			this.ghostAnimations.put(Directions.UP, upAnimation);
-			this.ghostAnimations.put(Directions.DOWN, downAnimation);
-			this.ghostAnimations.put(Directions.LEFT, leftAnimation);
-			this.ghostAnimations.put(Directions.RIGHT, rightAnimation);
+			ghostAnimations.put(Directions.UP, upAnimation);
+			ghostAnimations.put(Directions.DOWN, downAnimation);
+			ghostAnimations.put(Directions.LEFT, leftAnimation);
+			ghostAnimations.put(Directions.RIGHT, rightAnimation);
 		} catch (SlickException e) {
 			e.printStackTrace();
 		}
+		assetLoad.commit();
+		return ghostAnimations;
 	}
 
 	/**
@@ -312,159 +371,87 @@ public class Ghost {
 	 * @return a random direction that's not STILL
 	 */
 	private Directions getRandomGhostDir() {
-		Random random = new Random();
 		ArrayList<Directions> availableDirections = new ArrayList<>(Arrays.asList(Directions.values()));
 		availableDirections.removeIf(d -> d.equals(Directions.STILL));
 
-		return availableDirections.get(random.nextInt(availableDirections.size()));
+		return availableDirections.get(this.random.nextInt(availableDirections.size()));
 	}
 
 	/**
-	 * This method determines how the ghost chooses its past every time it hits a wall or appears at an intersection
+	 * This method updates the direction of the ghost. The ghost only chooses a new direction on the center of a tile
+	 * that is not a straight corridor, which is a junction, a corner or a dead end.
+	 * When the distance of this tick passes tile centers, the ghost is moved to each of them in its own slot and
+	 * chooses there before going on, so no junction is skipped however long the tick is. The last part of the move,
+	 * which ends on or before the next center, is left to the movement pass.
 	 */
-	private void smartMovePerFrame() {
-		if (this.isAtIntersection) {
-			this.replaceGhostToPathCenter();
-			try {
-				this.dir = this.getChosenNextDirection();
-			} catch (Exception e) {
-				e.printStackTrace();
-			}
+	private void updateDirection(int delta, PacmanSnapshot pacman, Map map, boolean shouldAskBrain) {
+		// Do not start moving the ghost until its time is up.
+		this.store.addElapsedSeconds(this.index, delta / 1000f);
+		if (!this.store.getHasStarted(this.index)) {
+			this.store.stop(this.index);
+			return;
 		}
-		this.movePerFrame();
-	}
 
-	/**
-	 * This method updates x and y of the ghost based on the current direction and speed (distance per frame).
-	 */
-	private void movePerFrame() {
-		switch (this.dir) {
-			case UP:
-				this.y = this.y - this.speed;
-				break;
-			case DOWN:
-				this.y = this.y + this.speed;
-				break;
-			case LEFT:
-				this.x = this.x - this.speed;
-				break;
-			case RIGHT:
-				this.x = this.x + this.speed;
+		this.pacman = pacman;
+		this.map = map;
+
+		Directions dir = this.getDir();
+		this.setFlag(GhostStore.intersectionFlag, false);
+		this.setFlag(GhostStore.collidingWithWallFlag, false);
+		int distance = TileUnits.getTravelDistance(this.getSpeed(), delta);
+		while (true) {
+			if (TileUnits.getIsAtTileCenter(this.getX(), this.getY())) {
+				int openMask = map.getOpenDirectionMask(this.getRow(), this.getCol());
+				int corridorMask = Map.getDirectionBit(dir) | Map.getDirectionBit(this.getReverseDirection(dir));
+				if (openMask != corridorMask) {
+					dir = this.getCorridorJunctionDirection(openMask, shouldAskBrain);
+				}
+			}
+			int stepLength = TileUnits.getStepLength(this.getX(), this.getY(), dir, distance);
+			if (stepLength == distance || stepLength == 0) {
 				break;
+			}
+			// The step ends on a tile center with distance left, move there now and choose again.
+			this.store.setDir(this.index, dir, stepLength);
+			this.setX(this.getX() + this.store.getVelocityX(this.index));
+			this.setY(this.getY() + this.store.getVelocityY(this.index));
+			distance -= stepLength;
 		}
+		// Also restores the velocity in the store after the ghost waited for its start delay.
+		this.store.setDir(this.index, dir, distance);
 	}
 
 	/**
-	 * This method returns the direction chosen after comparing the resulting distance between the ghost and the pacman.
-	 * The goal is to reduce distance with pacman but not getting stuck on a path by repeating the last direction.
-	 * @return the direction chosen after comparing the resulting distance between the ghost and the pacman
-	 * @throws Exception
+	 * This method chooses the direction at a junction, corner or dead end. The brain of the ghost picks from the open
+	 * directions except going back, which is only taken at a dead end.
+	 * @param openMask open directions of the tile the ghost is on
+	 * @param shouldAskBrain if the brain chooses, otherwise the ghost goes straight on or takes a random open turn
+	 * @return the chosen direction
 	 */
-	private Directions getChosenNextDirection() throws Exception {
-		ArrayList<Directions> availableDirections = this.getAvailableDirections(this.x, this.y);
-
-		if (availableDirections.size() == 0) {
-			throw new Exception("availableDirections array list cannot be empty");
+	private Directions getCorridorJunctionDirection(int openMask, boolean shouldAskBrain) {
+		Directions reverseDir = this.getReverseDirection(this.getDir());
+		ArrayList<Directions> availableDirections = new ArrayList<>();
+		for (Directions d : new Directions[]{Directions.UP, Directions.DOWN, Directions.LEFT, Directions.RIGHT}) {
+			if ((openMask & Map.getDirectionBit(d)) != 0 && d != reverseDir) {
+				availableDirections.add(d);
+			}
+		}
+		if (availableDirections.isEmpty()) {
+			return reverseDir;
 		}
 
-		// Unless ghost and pacman are on the same path,
-		// ghosts do not repeat the immediate path if possible to avoid ghosts being stuck back and forth on one path.
-
-		float ghostCircleX = this.ghostCircle.getCenterX();
-		float ghostCircleY = this.ghostCircle.getCenterY();
-
-		// get the maximum shortestResultingDistance value possible with one speed value on each of x and y.
-		float shortestResultingDistance =
-				this.getDistanceBetweenTwoPoints(
-						ghostCircleX,
-						ghostCircleY,
-						this.pacman.getCenterX(),
-						this.pacman.getCenterY()
-				) +
-				this.getDistanceBetweenTwoPoints(0, 0, this.speed, this.speed);
-		Directions chosenDirection = availableDirections.get(0);
-
-		float newDistance = 0;
-
-		for (Directions currentDir : availableDirections) {
-			switch (currentDir) {
-				case UP:
-					// Unless ghost and pacman are on the same path,
-					// ghosts do not repeat the immediate path if possible to avoid ghosts being stuck back and forth on one path.
-					if (availableDirections.size() > 1 && !this.getOnSameVerticalPathWithPacman()
-							&& this.getReverseDirection(this.dir) == Directions.UP) {
-						break;
-					}
-					newDistance = this.getDistanceBetweenTwoPoints(
-							ghostCircleX,
-							ghostCircleY - this.speed,
-							this.pacman.getCenterX(),
-							this.pacman.getCenterY()
-					);
-					if (newDistance < shortestResultingDistance) {
-						shortestResultingDistance = newDistance;
-						chosenDirection = currentDir;
-					}
-					break;
-				case DOWN:
-					// Unless ghost and pacman are on the same path,
-					// ghosts do not repeat the immediate path if possible to avoid ghosts being stuck back and forth on one path.
-					if (availableDirections.size() > 1 && !this.getOnSameVerticalPathWithPacman()
-							&& this.getReverseDirection(this.dir) == Directions.DOWN) {
-						break;
-					}
-					newDistance = this.getDistanceBetweenTwoPoints(
-							ghostCircleX,
-							ghostCircleY + this.speed,
-							this.pacman.getCenterX(),
-							this.pacman.getCenterY()
-					);
-					if (newDistance < shortestResultingDistance) {
-						shortestResultingDistance = newDistance;
-						chosenDirection = currentDir;
-					}
-					break;
-				case LEFT:
-					// Unless ghost and pacman are on the same path,
-					// ghosts do not repeat the immediate path if possible to avoid ghosts being stuck back and forth on one path.
-					if (availableDirections.size() > 1 && !this.getOnSameHorizontalPathWithPacman()
-							&& this.getReverseDirection(this.dir) == Directions.LEFT) {
-						break;
-					}
-					newDistance = this.getDistanceBetweenTwoPoints(
-							ghostCircleX - this.speed,
-							ghostCircleY,
-							this.pacman.getCenterX(),
-							this.pacman.getCenterY()
-					);
-					if (newDistance < shortestResultingDistance) {
-						shortestResultingDistance = newDistance;
-						chosenDirection = currentDir;
-					}
-					break;
-
-				case RIGHT:
-					// Unless ghost and pacman are on the same path,
-					// ghosts do not repeat the immediate path if possible to avoid ghosts being stuck back and forth on one path.
-					if (availableDirections.size() > 1 && !this.getOnSameHorizontalPathWithPacman()
-							&& this.getReverseDirection(this.dir) == Directions.RIGHT) {
-						break;
-					}
-					newDistance = this.getDistanceBetweenTwoPoints(
-							ghostCircleX + this.speed,
-							ghostCircleY,
-							this.pacman.getCenterX(),
-							this.pacman.getCenterY()
-					);
-					if (newDistance < shortestResultingDistance) {
-						shortestResultingDistance = newDistance;
-						chosenDirection = currentDir;
-					}
-					break;
-			}
+		this.setFlag(GhostStore.intersectionFlag, true);
+		this.setFlag(GhostStore.collidingWithWallFlag, (openMask & Map.getDirectionBit(this.getDir())) == 0);
+
+		if (!shouldAskBrain) {
+			return availableDirections.contains(this.getDir())
+					? this.getDir()
+					: availableDirections.get(this.random.nextInt(availableDirections.size()));
 		}
 
-		return this.randomlyDecideKeepingCurrentDirectionAtIntersection(this.dir, chosenDirection);
+		Directions chosenDirection = this.brain.chooseNextDirection(this, availableDirections, this.pacman, this.map);
+
+		return this.randomlyDecideKeepingCurrentDirectionAtIntersection(this.getDir(), chosenDirection);
 	}
 
 	/**
@@ -475,137 +462,24 @@ public class Ghost {
 	 * @return randomly decided direction based on chosen next direction and available directions.
 	 */
 	private Directions randomlyDecideKeepingCurrentDirectionAtIntersection(Directions currentDir, Directions chosenNextDir) {
-		if (!this.isCollidingWithWall && this.isAtIntersection) {
-			Random random = new Random();
-			return random.nextDouble() <= this.ghostChanceOfPickingCorrectPathAtIntersection ? chosenNextDir : currentDir;
+		if (!this.getFlag(GhostStore.collidingWithWallFlag) && this.getFlag(GhostStore.intersectionFlag)) {
+			return this.random.nextDouble() <= this.ghostChanceOfPickingCorrectPathAtIntersection ? chosenNextDir : currentDir;
 		}
 
 		return chosenNextDir;
 	}
 
 	/**
-	 * This method returns if the ghost is on the same horizontal path (row) of the pacman
-	 * @return if the ghost is on the same horizontal path (row) of the pacman
+	 * This method sets or clears one of the GhostStore flags of this ghost.
 	 */
-	private boolean getOnSameHorizontalPathWithPacman() {
-		boolean onSameHorizontalPathWithPacman =
-				Math.abs(this.pacman.getCenterY() - this.ghostCircle.getCenterY()) < this.elementPixelUnit / 3;
-		return onSameHorizontalPathWithPacman;
-	}
-
-	/**
-	 * This method returns if the ghost is on the same vertical path (column) of the pacman
-	 * @return if the ghost is on the same vertical path (column) of the pacman
-	 */
-	private boolean getOnSameVerticalPathWithPacman() {
-		boolean onSameVerticalPathWithPacman =
-				Math.abs(this.pacman.getCenterX() - this.ghostCircle.getCenterX()) < this.elementPixelUnit / 3;
-		return onSameVerticalPathWithPacman;
-	}
-
-	/**
-	 * This method calculates the distance between two points with given coordinates
-	 * @param x1 x coordinate for point 1
-	 * @param y1 y coordinate for point 1
-	 * @param x2 x coordinate for point 2
-	 * @param y2 y coordinate for point 2
-	 * @return the distance between point 1 and 2 on the xy coordinate system
-	 */
-	private float getDistanceBetweenTwoPoints(float x1, float y1, float x2, float y2) {
-		return (float) (Math.sqrt(Math.pow(x2 - x1, 2) + Math.pow(y2 - y1, 2)));
-	}
-
-	/**
-	 * This method creates a temporary ghost circle that is placed one radius distance more than the
-	 * current actual ghost circle for each of the four directions. Then it populates available directions for those
-	 * that do not cause a collision between the temporary ghost circle and the wallShapesAroundGhost.
-	 * @param x x coordinate of a given point (usually provided with the x of ghost center)
-	 * @param y y coordinate of a given point (usually provided with the y of ghost center)
-	 * @return the ArrayList of all available directions ghost could choose from at position x, y.
-	 */
-	private ArrayList<Directions> getAvailableDirections(float x, float y) {
-		ArrayList<Directions> availableDirections = new ArrayList<>();
-
-		float currentCircleCenterX = x + this.elementPixelUnit / 2;
-		float currentCircleCenterY = y + this.elementPixelUnit / 2;
-
-		Circle tempGhostCircle = new Circle(
-				currentCircleCenterX,
-				currentCircleCenterY,
-				this.ghostCircleRadius);
-
-		// LEFT
-		tempGhostCircle.setCenterX(currentCircleCenterX - this.ghostCircleRadius);
-		tempGhostCircle.setCenterY(currentCircleCenterY);
-		if (!this.wallShapesAroundGhost.stream().anyMatch(w -> tempGhostCircle.intersects(w))) {
-			availableDirections.add(Directions.LEFT);
-		}
-
-		// RIGHT
-		tempGhostCircle.setCenterX(currentCircleCenterX + this.ghostCircleRadius);
-		tempGhostCircle.setCenterY(currentCircleCenterY);
-		if (!this.wallShapesAroundGhost.stream().anyMatch(w -> tempGhostCircle.intersects(w))) {
-			availableDirections.add(Directions.RIGHT);
-		}
-		// UP
-		tempGhostCircle.setCenterX(currentCircleCenterX);
-		tempGhostCircle.setCenterY(currentCircleCenterY - this.ghostCircleRadius);
-		if (!this.wallShapesAroundGhost.stream().anyMatch(w -> tempGhostCircle.intersects(w))) {
-			availableDirections.add(Directions.UP);
-		}
-		// DOWN
-		tempGhostCircle.setCenterX(currentCircleCenterX);
-		tempGhostCircle.setCenterY(currentCircleCenterY + this.ghostCircleRadius);
-		if (!this.wallShapesAroundGhost.stream().anyMatch(w -> tempGhostCircle.intersects(w))) {
-			availableDirections.add(Directions.DOWN);
-		}
-
-		return availableDirections;
-	}
-
-	/**
-	 * This method sets boolean variable isCollidingWithPacman based on if ghost circle intersects with pacman circle.
-	 * isCollidingWithPacman is always set to false when pacman.getShouldShowArvind() returns true because in Arvind
-	 * mode, pacman is immune to ghost.
-	 */
-	private void setIsCollidingWithPacman() {
-		this.isCollidingWithPacman = !this.pacman.getShouldShowArvind()
-				&& this.pacman.getPacmanCircle().intersects(this.ghostCircle);
-	}
-
-	/**
-	 * This method sets the value of variables isAtIntersection and isCollidingWithWall based on ghost's position on the
-	 * map and if ghost is colliding with any shape in wallShapesAroundGhost.
-	 */
-	private void setIsAtIntersectionAndCollidingWithWall() {
-		// if ghost circle is colliding with any wall, it definitely is at intersection.
-		for (Shape wall : this.wallShapesAroundGhost) {
-			if (this.ghostCircle.intersects(wall)) {
-				this.isAtIntersection = true;
-				this.isCollidingWithWall = true;
-				return;
-			}
-		}
-
-		// if the ghost is close enough to a nearest non collision location (path center) and the ghost temp circle
-		// (placed at the nearest path center) has more than 2 available directions
-		// (more than current direction and its reverse), it is also at intersection.
-		if (Math.abs(this.closestNonCollisionX - this.x) < this.speed / 2 &&
-				Math.abs(this.closestNonCollisionY - this.y) < this.speed / 2 &&
-				this.getAvailableDirections(this.closestNonCollisionX, this.closestNonCollisionY).size() > 2) {
-			this.isAtIntersection = true;
-			return;
-		}
-
-		this.isAtIntersection = false;
-		this.isCollidingWithWall = false;
+	private void setFlag(int flag, boolean isSet) {
+		this.store.setFlag(this.index, flag, isSet);
 	}
 
 	/**
-	 * This method is a private setter for wallShapeAroundGhost that gets called in update method every frame
-	 * @param wallShapesAroundGhost keeps track of the wall shapes within certain distance from ghost.
+	 * This method returns if one of the GhostStore flags of this ghost is set.
 	 */
-	private void setWallShapesAroundGhost(ArrayList<Shape> wallShapesAroundGhost) {
-		this.wallShapesAroundGhost = wallShapesAroundGhost;
+	private boolean getFlag(int flag) {
+		return this.store.getFlag(this.index, flag);
 	}
 }
@@ -0,0 +1,28 @@
+import java.util.ArrayList;
+
+/**
+ * GhostBrain is the strategy a ghost uses to pick its direction at intersections. The work is split in two: plan is
+ * where expensive thinking (path refresh, lookahead) happens and is only called by GhostBrainScheduler when the frame
+ * still has time left, while chooseNextDirection is called at every intersection and must stay cheap, using whatever
+ * the last plan left behind.
+ */
+public interface GhostBrain {
+	/**
+	 * Do the expensive part of the thinking for the given ghost and keep the result for later decisions.
+	 */
+	void plan(Ghost ghost, PacmanSnapshot pacman, Map map);
+
+	/**
+	 * Pick the next direction of the ghost out of the available directions at an intersection.
+	 * @param availableDirections directions the ghost can move in, never empty
+	 * @return one of availableDirections
+	 */
+	Directions chooseNextDirection(Ghost ghost, ArrayList<Directions> availableDirections, PacmanSnapshot pacman, Map map);
+
+	/**
+	 * Forget what was planned, for a ghost reused on another level. Brains that keep nothing between calls have
+	 * nothing to do.
+	 */
+	default void reset() {
+	}
+}
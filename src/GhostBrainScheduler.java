@@ -0,0 +1,55 @@
+import java.util.ArrayList;
+
+/**
+ * GhostBrainScheduler gives the expensive planning of ghost brains a fixed time budget per frame. Ghosts are planned
+ * in round-robin order starting where the last frame stopped, so with many ghosts each one is planned every few
+ * frames instead of all of them blowing the frame deadline at once. A plan that has already started is never
+ * interrupted, so a frame can go over the budget by at most one plan.
+ */
+public class GhostBrainScheduler {
+	public static final long defaultTickBudgetMicros = 500;
+
+	private final long tickBudgetNanos;
+	private int nextGhostIndex = 0;
+
+	private int lastTickPlannedGhostCount = 0;
+	private long lastTickNanos = 0;
+
+	public GhostBrainScheduler(long tickBudgetMicros) {
+		this.tickBudgetNanos = tickBudgetMicros * 1000;
+	}
+
+	/**
+	 * This method plans as many ghosts as the budget allows. Every ghost is planned at most once per frame.
+	 */
+	public void runTick(ArrayList<Ghost> ghosts, PacmanSnapshot pacman, Map map) {
+		long tickStart = System.nanoTime();
+		int ghostCount = ghosts.size();
+		int plannedGhostCount = 0;
+		while (plannedGhostCount < ghostCount && System.nanoTime() - tickStart < this.tickBudgetNanos) {
+			if (this.nextGhostIndex >= ghostCount) {
+				this.nextGhostIndex = 0;
+			}
+			Ghost ghost = ghosts.get(this.nextGhostIndex++);
+			ghost.getBrain().plan(ghost, pacman, map);
+			plannedGhostCount++;
+		}
+
+		this.lastTickPlannedGhostCount = plannedGhostCount;
+		this.lastTickNanos = System.nanoTime() - tickStart;
+	}
+
+	/**
+	 * Getter for the number of ghosts planned in the last frame
+	 */
+	public int getLastTickPlannedGhostCount() {
+		return this.lastTickPlannedGhostCount;
+	}
+
+	/**
+	 * Getter for the time spent planning in the last frame, in nanoseconds
+	 */
+	public long getLastTickNanos() {
+		return this.lastTickNanos;
+	}
+}
@@ -0,0 +1,52 @@
+import java.util.ArrayList;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GhostBrainSchedulerTest {
+    ArrayList<Ghost> ghosts = new ArrayList<>();
+    ArrayList<Integer> plannedGhostIndices = new ArrayList<>();
+
+    GhostBrainSchedulerTest() {
+        for (int i = 0; i < 5; i++) {
+            Ghost ghost = new Ghost(212, 145, 22, false, i);
+            int ghostIndex = i;
+            ghost.setBrain(new GhostBrain() {
+                @Override
+                public void plan(Ghost ghost, PacmanSnapshot pacman, Map map) {
+                    plannedGhostIndices.add(ghostIndex);
+                }
+
+                @Override
+                public Directions chooseNextDirection(Ghost ghost, ArrayList<Directions> availableDirections,
+                                                      PacmanSnapshot pacman, Map map) {
+                    return availableDirections.get(0);
+                }
+            });
+            ghosts.add(ghost);
+        }
+    }
+
+    @Test
+    void runTickPlansEveryGhostOnceWithinBudget() {
+        GhostBrainScheduler scheduler = new GhostBrainScheduler(1000000);
+        scheduler.runTick(ghosts, null, null);
+        assertEquals(scheduler.getLastTickPlannedGhostCount(), 5);
+        assertEquals(plannedGhostIndices.size(), 5);
+    }
+
+    @Test
+    void runTickWithoutBudgetPlansNothing() {
+        GhostBrainScheduler scheduler = new GhostBrainScheduler(0);
+        scheduler.runTick(ghosts, null, null);
+        assertEquals(scheduler.getLastTickPlannedGhostCount(), 0);
+    }
+
+    @Test
+    void runTickContinuesRoundRobin() {
+        GhostBrainScheduler scheduler = new GhostBrainScheduler(1000000);
+        scheduler.runTick(new ArrayList<>(ghosts.subList(0, 3)), null, null);
+        scheduler.runTick(ghosts, null, null);
+        assertEquals(plannedGhostIndices.get(3), 3);
+    }
+}
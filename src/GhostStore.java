@@ -0,0 +1,334 @@
+import java.util.Arrays;
+
+/**
+ * GhostStore holds the simulation state of all ghosts on a map in parallel primitive arrays, one slot per ghost.
+ * Ghost objects are views over one slot. Keeping the state together lets the movement and pacman proximity passes run
+ * as tight loops over plain arrays, which the JIT compiler can vectorise, instead of chasing one heavyweight object
+ * per ghost.
+ *
+ * A game tick is split in two phases. beginTick copies the positions and directions into the previous state buffer,
+ * which stays unchanged for the rest of the tick. During the ghost phase every ghost only writes its own slot, so the
+ * ghosts can be updated in any order or in parallel. Anything that needs where the ghosts were at the start of the
+ * tick reads the previous state.
+ */
+public class GhostStore {
+	private static final Directions[] directionsByOrdinal = Directions.values();
+
+	// Bits of the flags array
+	public static final int intersectionFlag = 1;
+	public static final int collidingWithWallFlag = 2;
+
+	private int size = 0;
+
+	// Positions, distances and speeds are in TileUnits.
+	private int[] x;
+	private int[] y;
+	private int[] initialX;
+	private int[] initialY;
+	// Distance moved per frame along x and y. Zero while the ghost is waiting for its start delay.
+	private int[] velocityX;
+	private int[] velocityY;
+	private int[] speed;
+	private float[] startDelay;
+	private float[] elapsedSeconds;
+	private byte[] dir;
+	private byte[] flags;
+	// Row distance plus column distance to pacman, filled by updatePacmanDistances. GhostUpdatePhase uses it to choose
+	// the level of detail of every ghost, and CollisionPhase to skip the swept contact test for ghosts too far away to
+	// reach pacman in the tick.
+	private int[] pacmanDistance;
+
+	// Previous state buffer, filled by beginTick.
+	private int[] previousX;
+	private int[] previousY;
+	private byte[] previousDir;
+
+	public GhostStore(int capacity) {
+		this.x = new int[capacity];
+		this.y = new int[capacity];
+		this.initialX = new int[capacity];
+		this.initialY = new int[capacity];
+		this.velocityX = new int[capacity];
+		this.velocityY = new int[capacity];
+		this.speed = new int[capacity];
+		this.startDelay = new float[capacity];
+		this.elapsedSeconds = new float[capacity];
+		this.dir = new byte[capacity];
+		this.flags = new byte[capacity];
+		this.pacmanDistance = new int[capacity];
+		this.previousX = new int[capacity];
+		this.previousY = new int[capacity];
+		this.previousDir = new byte[capacity];
+	}
+
+	/**
+	 * This method adds a ghost standing still at its initial position and returns its slot.
+	 */
+	public int add(int initialX, int initialY, int speed, float startDelay) {
+		if (this.size == this.x.length) {
+			this.grow(Math.max(1, this.size * 2));
+		}
+		int index = this.size++;
+		this.initialX[index] = initialX;
+		this.initialY[index] = initialY;
+		this.speed[index] = speed;
+		this.startDelay[index] = startDelay;
+		this.dir[index] = (byte) Directions.STILL.ordinal();
+		this.reset(index);
+		return index;
+	}
+
+	/**
+	 * This method removes all ghosts, keeping the arrays for the ghosts added next.
+	 */
+	public void clear() {
+		this.size = 0;
+	}
+
+	/**
+	 * This method puts the ghost back to its initial position, stops it and restarts its start delay.
+	 */
+	public void reset(int index) {
+		this.x[index] = this.initialX[index];
+		this.y[index] = this.initialY[index];
+		this.velocityX[index] = 0;
+		this.velocityY[index] = 0;
+		this.elapsedSeconds[index] = 0;
+		this.flags[index] = 0;
+		this.previousX[index] = this.x[index];
+		this.previousY[index] = this.y[index];
+		this.previousDir[index] = this.dir[index];
+	}
+
+	/**
+	 * Getter for the number of ghosts in the store
+	 */
+	public int getSize() {
+		return this.size;
+	}
+
+	/**
+	 * This method starts a tick by copying the current positions and directions of all ghosts into the previous state
+	 * buffer.
+	 */
+	public void beginTick() {
+		System.arraycopy(this.x, 0, this.previousX, 0, this.size);
+		System.arraycopy(this.y, 0, this.previousY, 0, this.size);
+		System.arraycopy(this.dir, 0, this.previousDir, 0, this.size);
+	}
+
+	/**
+	 * Batch movement pass: moves every ghost by its velocity.
+	 */
+	public void moveAll() {
+		int[] x = this.x;
+		int[] y = this.y;
+		int[] velocityX = this.velocityX;
+		int[] velocityY = this.velocityY;
+		for (int i = 0; i < this.size; i++) {
+			x[i] += velocityX[i];
+			y[i] += velocityY[i];
+		}
+	}
+
+	/**
+	 * Batch proximity pass: stores the row distance plus column distance between every ghost and pacman, for the
+	 * level of detail of GhostUpdatePhase and the bound CollisionPhase checks before its swept test.
+	 */
+	public void updatePacmanDistances(int pacmanX, int pacmanY) {
+		int[] x = this.x;
+		int[] y = this.y;
+		int[] pacmanDistance = this.pacmanDistance;
+		for (int i = 0; i < this.size; i++) {
+			pacmanDistance[i] = Math.abs(x[i] - pacmanX) + Math.abs(y[i] - pacmanY);
+		}
+	}
+
+	/**
+	 * This method adds the frame time to the time the ghost has been waiting or moving.
+	 */
+	public void addElapsedSeconds(int index, float seconds) {
+		this.elapsedSeconds[index] += seconds;
+	}
+
+	/**
+	 * This method returns if the start delay of the ghost is over.
+	 */
+	public boolean getHasStarted(int index) {
+		return this.elapsedSeconds[index] >= this.startDelay[index];
+	}
+
+	/**
+	 * This method sets the direction of the ghost and starts moving it that way on the next movement pass. The step
+	 * ends at the next tile center when that is closer than the speed of the ghost.
+	 */
+	public void setDir(int index, Directions dir) {
+		this.setDir(index, dir, this.speed[index]);
+	}
+
+	/**
+	 * This method sets the direction of the ghost and starts moving it that way by at most the given distance on the
+	 * next movement pass. The step ends at the next tile center when that is closer.
+	 */
+	public void setDir(int index, Directions dir, int distance) {
+		this.dir[index] = (byte) dir.ordinal();
+		this.velocityX[index] = 0;
+		this.velocityY[index] = 0;
+		int stepLength = TileUnits.getStepLength(this.x[index], this.y[index], dir, distance);
+		switch (dir) {
+			case UP:
+				this.velocityY[index] = -stepLength;
+				break;
+			case DOWN:
+				this.velocityY[index] = stepLength;
+				break;
+			case LEFT:
+				this.velocityX[index] = -stepLength;
+				break;
+			case RIGHT:
+				this.velocityX[index] = stepLength;
+				break;
+		}
+	}
+
+	/**
+	 * This method stops the ghost without changing the direction it faces.
+	 */
+	public void stop(int index) {
+		this.velocityX[index] = 0;
+		this.velocityY[index] = 0;
+	}
+
+	/**
+	 * This method sets or clears one of the flag bits of the ghost.
+	 */
+	public void setFlag(int index, int flag, boolean isSet) {
+		this.flags[index] = (byte) (isSet ? this.flags[index] | flag : this.flags[index] & ~flag);
+	}
+
+	/**
+	 * This method returns if one of the flag bits of the ghost is set.
+	 */
+	public boolean getFlag(int index, int flag) {
+		return (this.flags[index] & flag) != 0;
+	}
+
+	/**
+	 * Getter for the x distance the ghost moves on the next movement pass
+	 */
+	public int getVelocityX(int index) {
+		return this.velocityX[index];
+	}
+
+	/**
+	 * Getter for the y distance the ghost moves on the next movement pass
+	 */
+	public int getVelocityY(int index) {
+		return this.velocityY[index];
+	}
+
+	/**
+	 * Getter for dir of the ghost in the given slot
+	 */
+	public Directions getDir(int index) {
+		return directionsByOrdinal[this.dir[index]];
+	}
+
+	/**
+	 * Getter for x of the ghost in the given slot
+	 */
+	public int getX(int index) {
+		return this.x[index];
+	}
+
+	/**
+	 * Getter for y of the ghost in the given slot
+	 */
+	public int getY(int index) {
+		return this.y[index];
+	}
+
+	/**
+	 * Setter for x of the ghost in the given slot
+	 */
+	public void setX(int index, int x) {
+		this.x[index] = x;
+	}
+
+	/**
+	 * Setter for y of the ghost in the given slot
+	 */
+	public void setY(int index, int y) {
+		this.y[index] = y;
+	}
+
+	/**
+	 * Getter for speed of the ghost in the given slot
+	 */
+	public int getSpeed(int index) {
+		return this.speed[index];
+	}
+
+	/**
+	 * Getter for startDelay of the ghost in the given slot, in seconds
+	 */
+	public float getStartDelay(int index) {
+		return this.startDelay[index];
+	}
+
+	/**
+	 * Setter for startDelay of the ghost in the given slot, in seconds
+	 */
+	public void setStartDelay(int index, float startDelay) {
+		this.startDelay[index] = startDelay;
+	}
+
+	/**
+	 * Getter for the distance to pacman computed by the last updatePacmanDistances
+	 */
+	public int getPacmanDistance(int index) {
+		return this.pacmanDistance[index];
+	}
+
+	/**
+	 * Getter for x of the ghost in the given slot at the start of the tick
+	 */
+	public int getPreviousX(int index) {
+		return this.previousX[index];
+	}
+
+	/**
+	 * Getter for y of the ghost in the given slot at the start of the tick
+	 */
+	public int getPreviousY(int index) {
+		return this.previousY[index];
+	}
+
+	/**
+	 * Getter for dir of the ghost in the given slot at the start of the tick
+	 */
+	public Directions getPreviousDir(int index) {
+		return directionsByOrdinal[this.previousDir[index]];
+	}
+
+	/**
+	 * This method enlarges all arrays to the given capacity.
+	 */
+	private void grow(int capacity) {
+		this.x = Arrays.copyOf(this.x, capacity);
+		this.y = Arrays.copyOf(this.y, capacity);
+		this.initialX = Arrays.copyOf(this.initialX, capacity);
+		this.initialY = Arrays.copyOf(this.initialY, capacity);
+		this.velocityX = Arrays.copyOf(this.velocityX, capacity);
+		this.velocityY = Arrays.copyOf(this.velocityY, capacity);
+		this.speed = Arrays.copyOf(this.speed, capacity);
+		this.startDelay = Arrays.copyOf(this.startDelay, capacity);
+		this.elapsedSeconds = Arrays.copyOf(this.elapsedSeconds, capacity);
+		this.dir = Arrays.copyOf(this.dir, capacity);
+		this.flags = Arrays.copyOf(this.flags, capacity);
+		this.pacmanDistance = Arrays.copyOf(this.pacmanDistance, capacity);
+		this.previousX = Arrays.copyOf(this.previousX, capacity);
+		this.previousY = Arrays.copyOf(this.previousY, capacity);
+		this.previousDir = Arrays.copyOf(this.previousDir, capacity);
+	}
+}
@@ -22,9 +22,11 @@ class GhostTest {
     }
 
     @Test
-    void replaceGhostToPathCenter() {
-        ghostTest.replaceGhostToPathCenter();
-        assertEquals(ghostTest.getX(), 0);
+    void getCol() {
+        ghostTest.setX(TileUnits.fromTile(3) + TileUnits.tileSize / 2 - 1);
+        assertEquals(ghostTest.getCol(), 3);
+        ghostTest.setX(TileUnits.fromTile(3) + TileUnits.tileSize / 2);
+        assertEquals(ghostTest.getCol(), 4);
     }
 
     @Test
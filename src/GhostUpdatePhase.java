@@ -0,0 +1,95 @@
+import java.util.ArrayList;
+import java.util.stream.IntStream;
+
+/**
+ * GhostUpdatePhase runs the ghost part of a game tick in two phases. First the previous state of the ghosts is frozen
+ * in the GhostStore and every ghost is given its level of detail. Then every ghost decides its next direction reading
+ * only the frozen state, an immutable PacmanSnapshot and the map, and writing only its own slot in the store. As no
+ * ghost reads what another ghost writes, the second phase runs on all cores when there are many ghosts, and the result
+ * is the same as updating the ghosts one after the other. Contacts with pacman are resolved afterwards by
+ * CollisionPhase.
+ */
+public class GhostUpdatePhase {
+	// Below this number of ghosts the cost of handing work to other threads is larger than the update itself.
+	public static final int defaultParallelGhostThreshold = 64;
+
+	// AI level of detail: ghosts within this many tiles (row distance plus column distance) from pacman ask their
+	// brain at every junction. The others ask it on one tick out of reducedDetailBrainTickInterval, staggered by
+	// their slot, and otherwise go straight on, so the cost of the brains grows with the number of ghosts close to
+	// pacman instead of all ghosts.
+	public static final int defaultFullDetailGhostTileDistance = 8;
+	private static final int reducedDetailBrainTickInterval = 4;
+
+	private final int parallelGhostThreshold;
+	private final int fullDetailGhostTileDistance;
+
+	// If every ghost asks its brain in the current tick, indexed by the slot of the ghost in the store.
+	private boolean[] shouldAskBrain = new boolean[0];
+	private int fullDetailGhostCount = 0;
+	private long tick = 0;
+
+	/**
+	 * Constructor
+	 * @param parallelGhostThreshold number of ghosts from which the ghosts are updated in parallel
+	 */
+	public GhostUpdatePhase(int parallelGhostThreshold) {
+		this(parallelGhostThreshold, defaultFullDetailGhostTileDistance);
+	}
+
+	/**
+	 * Constructor
+	 * @param parallelGhostThreshold number of ghosts from which the ghosts are updated in parallel
+	 * @param fullDetailGhostTileDistance distance in tiles from pacman within which ghosts get the full update
+	 */
+	public GhostUpdatePhase(int parallelGhostThreshold, int fullDetailGhostTileDistance) {
+		this.parallelGhostThreshold = parallelGhostThreshold;
+		this.fullDetailGhostTileDistance = fullDetailGhostTileDistance;
+	}
+
+	/**
+	 * This method updates the direction of every ghost and then moves all of them.
+	 */
+	public void run(int delta, ArrayList<Ghost> ghosts, GhostStore store, PacmanSnapshot pacman, Map map) {
+		store.beginTick();
+		store.updatePacmanDistances(pacman.getX(), pacman.getY());
+
+		if (this.shouldAskBrain.length < ghosts.size()) {
+			this.shouldAskBrain = new boolean[ghosts.size()];
+		}
+		long fullDetailDistance = (long) this.fullDetailGhostTileDistance * TileUnits.tileSize;
+		this.fullDetailGhostCount = 0;
+		for (int i = 0; i < ghosts.size(); i++) {
+			boolean isFullDetail = store.getPacmanDistance(i) <= fullDetailDistance;
+			if (isFullDetail) {
+				this.fullDetailGhostCount++;
+			}
+			this.shouldAskBrain[i] = isFullDetail || (this.tick + i) % reducedDetailBrainTickInterval == 0;
+		}
+		this.tick++;
+
+		if (ghosts.size() >= this.parallelGhostThreshold) {
+			IntStream.range(0, ghosts.size()).parallel().forEach(i -> this.updateGhost(delta, ghosts.get(i), pacman, map));
+		}
+		else {
+			for (Ghost ghost : ghosts) {
+				this.updateGhost(delta, ghost, pacman, map);
+			}
+		}
+
+		store.moveAll();
+	}
+
+	/**
+	 * Getter for the number of ghosts that got the full update in the last tick
+	 */
+	public int getFullDetailGhostCount() {
+		return this.fullDetailGhostCount;
+	}
+
+	/**
+	 * This method updates one ghost with the level of detail it was given for this tick.
+	 */
+	private void updateGhost(int delta, Ghost ghost, PacmanSnapshot pacman, Map map) {
+		ghost.update(delta, pacman, map, this.shouldAskBrain[ghost.getIndex()]);
+	}
+}
@@ -0,0 +1,142 @@
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GhostUpdatePhaseTest {
+    static final int ghostCount = 300;
+    static final float elementPixelUnit = 10;
+
+    MapData mapData = MapCollections.generateMapData(61, 61, ghostCount, 3);
+    PacmanSnapshot pacman = new PacmanSnapshot(TileUnits.fromTile(30), TileUnits.fromTile(30), 115, true);
+
+    @Test
+    void parallelUpdateMatchesSequentialUpdate() {
+        GhostStore sequentialStore = this.runTicks(Integer.MAX_VALUE, 16);
+        GhostStore parallelStore = this.runTicks(1, 16);
+
+        for (int i = 0; i < ghostCount; i++) {
+            assertEquals(sequentialStore.getX(i), parallelStore.getX(i));
+            assertEquals(sequentialStore.getY(i), parallelStore.getY(i));
+            assertEquals(sequentialStore.getDir(i), parallelStore.getDir(i));
+        }
+    }
+
+    @Test
+    void ghostsStayOnPathCenterLines() {
+        // 20 times the usual tick, ghosts pass several tile centers per tick
+        GhostStore store = this.runTicks(Integer.MAX_VALUE, 320);
+
+        for (int i = 0; i < ghostCount; i++) {
+            int x = store.getX(i);
+            int y = store.getY(i);
+            assertTrue(TileUnits.getOffset(x) == 0 || TileUnits.getOffset(y) == 0);
+            assertFalse(mapData.getIsWall(TileUnits.toTile(y), TileUnits.toTile(x)));
+        }
+    }
+
+    @Test
+    void beginTickKeepsPreviousState() {
+        GhostStore store = new GhostStore(1);
+        store.add(10, 20, 19, 0);
+        store.setDir(0, Directions.RIGHT);
+        store.beginTick();
+        store.moveAll();
+
+        assertEquals(store.getPreviousX(0), 10);
+        assertEquals(store.getX(0), 29);
+        assertEquals(store.getPreviousDir(0), Directions.RIGHT);
+    }
+
+    @Test
+    void getFullDetailGhostCount() {
+        GhostStore store = new GhostStore(ghostCount);
+        ArrayList<Ghost> ghosts = this.createGhosts(store);
+        GhostUpdatePhase phase = new GhostUpdatePhase(Integer.MAX_VALUE);
+        phase.run(16, ghosts, store, pacman, this.createMap());
+
+        int nearGhostCount = 0;
+        for (int i = 0; i < ghostCount; i++) {
+            int distance = Math.abs(store.getPreviousX(i) - pacman.getX())
+                    + Math.abs(store.getPreviousY(i) - pacman.getY());
+            if (distance <= GhostUpdatePhase.defaultFullDetailGhostTileDistance * TileUnits.tileSize) {
+                nearGhostCount++;
+            }
+        }
+        assertTrue(nearGhostCount > 0 && nearGhostCount < ghostCount);
+        assertEquals(phase.getFullDetailGhostCount(), nearGhostCount);
+    }
+
+    @Test
+    void farGhostsAskTheirBrainLess() {
+        int nearBrainCallCount = this.countBrainCalls(1000);
+        int farBrainCallCount = this.countBrainCalls(0);
+        assertTrue(farBrainCallCount * 2 < nearBrainCallCount, farBrainCallCount + " of " + nearBrainCallCount);
+    }
+
+    /**
+     * Runs 300 ticks with ghosts whose brains count their decisions, and returns the number of decisions.
+     */
+    int countBrainCalls(int fullDetailGhostTileDistance) {
+        AtomicInteger brainCallCount = new AtomicInteger();
+        GhostBrain countingBrain = new GhostBrain() {
+            @Override
+            public void plan(Ghost ghost, PacmanSnapshot pacman, Map map) {
+            }
+
+            @Override
+            public Directions chooseNextDirection(Ghost ghost, ArrayList<Directions> availableDirections,
+                                                  PacmanSnapshot pacman, Map map) {
+                brainCallCount.incrementAndGet();
+                return availableDirections.get(0);
+            }
+        };
+
+        Map map = this.createMap();
+        GhostStore store = new GhostStore(ghostCount);
+        ArrayList<Ghost> ghosts = this.createGhosts(store);
+        ghosts.forEach(ghost -> ghost.setBrain(countingBrain));
+        GhostUpdatePhase phase = new GhostUpdatePhase(Integer.MAX_VALUE, fullDetailGhostTileDistance);
+        for (int tick = 0; tick < 300; tick++) {
+            phase.run(16, ghosts, store, pacman, map);
+        }
+        return brainCallCount.get();
+    }
+
+    /**
+     * Runs 300 ticks of the given length on a fresh map.
+     */
+    GhostStore runTicks(int parallelGhostThreshold, int delta) {
+        Map map = this.createMap();
+        GhostStore store = new GhostStore(ghostCount);
+        ArrayList<Ghost> ghosts = this.createGhosts(store);
+
+        GhostUpdatePhase phase = new GhostUpdatePhase(parallelGhostThreshold);
+        for (int tick = 0; tick < 300; tick++) {
+            phase.run(delta, ghosts, store, pacman, map);
+        }
+        return store;
+    }
+
+    Map createMap() {
+        Map map = new Map(mapData, elementPixelUnit, 0, 0, false);
+        map.initNavigation();
+        return map;
+    }
+
+    /**
+     * Creates a ghost on every ghost tile of the map, each with its own random seed.
+     */
+    ArrayList<Ghost> createGhosts(GhostStore store) {
+        ArrayList<Ghost> ghosts = new ArrayList<>();
+        for (int i = 0; i < ghostCount; i++) {
+            RowColTuple tile = mapData.getGhostRowColTuple(i);
+            Ghost ghost = new Ghost(store, TileUnits.fromTile(tile.col), TileUnits.fromTile(tile.row),
+                    elementPixelUnit, false, i % 4);
+            ghost.setRandomSeed(i);
+            ghosts.add(ghost);
+        }
+        return ghosts;
+    }
+}
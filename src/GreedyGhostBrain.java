@@ -0,0 +1,99 @@
+import java.util.ArrayList;
+
+/**
+ * GreedyGhostBrain picks the direction that brings the ghost closest to pacman in a straight line. It needs no
+ * planning.
+ */
+public class GreedyGhostBrain implements GhostBrain {
+	/**
+	 * Nothing to plan for the greedy brain.
+	 */
+	@Override
+	public void plan(Ghost ghost, PacmanSnapshot pacman, Map map) {
+	}
+
+	/**
+	 * This method returns the direction chosen after comparing the resulting distance between the ghost and the pacman.
+	 * The goal is to reduce distance with pacman but not getting stuck on a path by repeating the last direction.
+	 * @return the direction chosen after comparing the resulting distance between the ghost and the pacman
+	 */
+	@Override
+	public Directions chooseNextDirection(Ghost ghost, ArrayList<Directions> availableDirections, PacmanSnapshot pacman,
+										  Map map) {
+		float ghostCenterX = ghost.getX();
+		float ghostCenterY = ghost.getY();
+		float speed = ghost.getSpeed();
+		Directions reverseDir = ghost.getReverseDirection(ghost.getDir());
+
+		// get the maximum shortestResultingDistance value possible with one speed value on each of x and y.
+		float shortestResultingDistance =
+				this.getDistanceBetweenTwoPoints(ghostCenterX, ghostCenterY, pacman.getX(), pacman.getY()) +
+				this.getDistanceBetweenTwoPoints(0, 0, speed, speed);
+		Directions chosenDirection = availableDirections.get(0);
+
+		for (Directions currentDir : availableDirections) {
+			float nextCenterX = ghostCenterX;
+			float nextCenterY = ghostCenterY;
+			boolean isOnSamePathWithPacman;
+			switch (currentDir) {
+				case UP:
+					nextCenterY -= speed;
+					isOnSamePathWithPacman = this.getOnSameVerticalPathWithPacman(ghost, pacman);
+					break;
+				case DOWN:
+					nextCenterY += speed;
+					isOnSamePathWithPacman = this.getOnSameVerticalPathWithPacman(ghost, pacman);
+					break;
+				case LEFT:
+					nextCenterX -= speed;
+					isOnSamePathWithPacman = this.getOnSameHorizontalPathWithPacman(ghost, pacman);
+					break;
+				case RIGHT:
+					nextCenterX += speed;
+					isOnSamePathWithPacman = this.getOnSameHorizontalPathWithPacman(ghost, pacman);
+					break;
+				default:
+					continue;
+			}
+
+			// Unless ghost and pacman are on the same path,
+			// ghosts do not repeat the immediate path if possible to avoid ghosts being stuck back and forth on one path.
+			if (availableDirections.size() > 1 && !isOnSamePathWithPacman && reverseDir == currentDir) {
+				continue;
+			}
+
+			float newDistance = this.getDistanceBetweenTwoPoints(
+					nextCenterX,
+					nextCenterY,
+					pacman.getX(),
+					pacman.getY());
+			if (newDistance < shortestResultingDistance) {
+				shortestResultingDistance = newDistance;
+				chosenDirection = currentDir;
+			}
+		}
+
+		return chosenDirection;
+	}
+
+	/**
+	 * This method returns if the ghost is on the same horizontal path (row) of the pacman
+	 */
+	private boolean getOnSameHorizontalPathWithPacman(Ghost ghost, PacmanSnapshot pacman) {
+		return Math.abs(pacman.getY() - ghost.getY()) < TileUnits.tileSize / 3;
+	}
+
+	/**
+	 * This method returns if the ghost is on the same vertical path (column) of the pacman
+	 */
+	private boolean getOnSameVerticalPathWithPacman(Ghost ghost, PacmanSnapshot pacman) {
+		return Math.abs(pacman.getX() - ghost.getX()) < TileUnits.tileSize / 3;
+	}
+
+	/**
+	 * This method calculates the distance between two points with given coordinates
+	 */
+	private float getDistanceBetweenTwoPoints(float x1, float y1, float x2, float y2) {
+		return (float) (Math.sqrt(Math.pow(x2 - x1, 2) + Math.pow(y2 - y1, 2)));
+	}
+}
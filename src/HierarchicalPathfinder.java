@@ -0,0 +1,505 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.PriorityQueue;
+
+/**
+ * HierarchicalPathfinder finds paths on large maps the HPA* way. The map is cut into square clusters, and the tiles
+ * where a path crosses from one cluster into the next (entrances) become the nodes of a much smaller abstract graph.
+ * Distances between the entrances of the same cluster are precomputed once when the pathfinder is built, and every
+ * entrance keeps the distances of its cluster's tiles to it, so following a path to the next entrance is a lookup.
+ * A query only searches the abstract graph, and only the last cluster before the goal tile is searched again.
+ */
+public class HierarchicalPathfinder {
+	public static final int defaultClusterSize = 10;
+
+	private static final int unreachable = -1;
+
+	private static final int[] neighbourRowOffsets = {-1, 1, 0, 0};
+	private static final int[] neighbourColOffsets = {0, 0, -1, 1};
+
+	private final int rowCount;
+	private final int colCount;
+	private final int clusterSize;
+	private final int clusterRowCount;
+	private final int clusterColCount;
+
+	// Tiles of the map, read in place instead of copying the walkability of every tile.
+	private final MapData mapData;
+
+	// Abstract graph. Node ids are indices into nodeTiles, edges of node n are stored as {target node, cost} pairs.
+	private int nodeCount = 0;
+	private int[] nodeTiles = new int[16];
+	private final ArrayList<ArrayList<int[]>> nodeEdges = new ArrayList<>();
+	private final HashMap<Integer, Integer> nodeIdAtTile = new HashMap<>();
+	private final ArrayList<ArrayList<Integer>> clusterNodes = new ArrayList<>();
+
+	// Distances inside its cluster to every node, indexed by node and then by getLocalIndex.
+	private int[][] nodeLocalDistances;
+
+	// Each thread searching gets its own scratch arrays, so queries can run concurrently.
+	private final ThreadLocal<SearchScratch> searchScratch = ThreadLocal.withInitial(SearchScratch::new);
+
+	/**
+	 * Constructor. Builds the entrances and the abstract graph for the walls of the given map.
+	 * @param mapData map to find paths on
+	 * @param clusterSize number of rows and columns of one cluster
+	 */
+	public HierarchicalPathfinder(MapData mapData, int clusterSize) {
+		this.rowCount = mapData.getRowCount();
+		this.colCount = mapData.getColCount();
+		this.clusterSize = clusterSize;
+		this.clusterRowCount = (this.rowCount + clusterSize - 1) / clusterSize;
+		this.clusterColCount = (this.colCount + clusterSize - 1) / clusterSize;
+
+		this.mapData = mapData;
+
+		for (int i = 0; i < this.clusterRowCount * this.clusterColCount; i++) {
+			this.clusterNodes.add(new ArrayList<>());
+		}
+		this.createEntrances();
+		this.createIntraClusterEdges();
+	}
+
+	/**
+	 * Getter for clusterSize
+	 */
+	public int getClusterSize() {
+		return this.clusterSize;
+	}
+
+	/**
+	 * Getter for the number of nodes in the abstract graph
+	 */
+	public int getNodeCount() {
+		return this.nodeCount;
+	}
+
+	/**
+	 * This method returns the first direction to take on the way from one tile to another.
+	 * @return the direction of the first step, STILL when both tiles are the same, or null when there is no path
+	 */
+	public Directions getNextDirection(int fromRow, int fromCol, int toRow, int toCol) {
+		Path path = this.findPath(fromRow, fromCol, toRow, toCol);
+		if (path == null) {
+			return null;
+		}
+		return this.getNextDirection(path, fromRow, fromCol);
+	}
+
+	/**
+	 * This method plans a path between two tiles on the abstract graph. The returned path only holds the entrances
+	 * to pass through, the steps in between are refined one cluster at a time by getNextDirection(Path, int, int).
+	 * @return the planned path, or null when there is no path
+	 */
+	public Path findPath(int fromRow, int fromCol, int toRow, int toCol) {
+		if (!this.isWalkableTile(fromRow, fromCol) || !this.isWalkableTile(toRow, toCol)) {
+			return null;
+		}
+		int fromTile = fromRow * this.colCount + fromCol;
+		int toTile = toRow * this.colCount + toCol;
+		if (fromTile == toTile || (this.getClusterIndex(fromTile) == this.getClusterIndex(toTile)
+				&& this.getLocalFirstStep(fromTile, toTile, unreachable) != null)) {
+			return new Path(new int[]{toTile}, new int[]{unreachable}, toRow, toCol);
+		}
+		return this.searchAbstractGraph(fromTile, toTile, toRow, toCol);
+	}
+
+	/**
+	 * This method returns the direction to take from the given tile to follow a planned path. Only the cluster of
+	 * the given tile is searched.
+	 * @return the direction of the next step, STILL at the end of the path, or null when the tile is off the path
+	 * and the path needs to be planned again
+	 */
+	public Directions getNextDirection(Path path, int row, int col) {
+		int tile = row * this.colCount + col;
+		while (path.cursor < path.waypoints.length - 1 && path.waypoints[path.cursor] == tile) {
+			path.cursor++;
+		}
+		int nextTile = path.waypoints[path.cursor];
+		if (nextTile == tile) {
+			return Directions.STILL;
+		}
+		if (this.getManhattanDistance(tile, nextTile) == 1) {
+			return this.getDirectionToNeighbour(tile, nextTile);
+		}
+		if (this.getClusterIndex(tile) != this.getClusterIndex(nextTile)) {
+			return null;
+		}
+		return this.getLocalFirstStep(tile, nextTile, path.waypointNodes[path.cursor]);
+	}
+
+	/**
+	 * This method runs A* on the abstract graph with the start and goal tiles connected to the entrances of their
+	 * clusters, and returns the path through the entrances to the goal tile, or null when there is no path.
+	 */
+	private Path searchAbstractGraph(int fromTile, int toTile, int toRow, int toCol) {
+		int fromCluster = this.getClusterIndex(fromTile);
+		int toCluster = this.getClusterIndex(toTile);
+		SearchScratch scratch = this.searchScratch.get();
+		scratch.prepare(this.nodeCount, this.clusterSize * this.clusterSize);
+		int[] startDistances = this.getLocalDistances(fromCluster, fromTile, scratch.startDistances, scratch.queue);
+		int[] goalDistances = this.getLocalDistances(toCluster, toTile, scratch.goalDistances, scratch.queue);
+
+		PriorityQueue<int[]> openNodes = new PriorityQueue<>((a, b) -> Integer.compare(a[0], b[0]));
+
+		// The start tile is connected to every entrance of its own cluster that it can reach locally.
+		for (int node : this.clusterNodes.get(fromCluster)) {
+			int distance = startDistances[this.getLocalIndex(fromCluster, this.nodeTiles[node])];
+			if (distance != unreachable) {
+				scratch.setCost(node, distance, unreachable);
+				openNodes.add(new int[]{distance + this.getManhattanDistance(this.nodeTiles[node], toTile), node, distance});
+			}
+		}
+
+		int bestGoalCost = Integer.MAX_VALUE;
+		int bestGoalNode = unreachable;
+		while (!openNodes.isEmpty()) {
+			int[] open = openNodes.poll();
+			int node = open[1];
+			int cost = open[2];
+			if (open[0] >= bestGoalCost) {
+				break;
+			}
+			if (cost > scratch.getCost(node)) {
+				continue;
+			}
+
+			// The goal tile is connected to every entrance of its own cluster that can reach it locally.
+			if (this.getClusterIndex(this.nodeTiles[node]) == toCluster) {
+				int goalDistance = goalDistances[this.getLocalIndex(toCluster, this.nodeTiles[node])];
+				if (goalDistance != unreachable && cost + goalDistance < bestGoalCost) {
+					bestGoalCost = cost + goalDistance;
+					bestGoalNode = node;
+				}
+			}
+
+			for (int[] edge : this.nodeEdges.get(node)) {
+				int nextCost = cost + edge[1];
+				if (nextCost < scratch.getCost(edge[0])) {
+					scratch.setCost(edge[0], nextCost, node);
+					openNodes.add(new int[]{
+							nextCost + this.getManhattanDistance(this.nodeTiles[edge[0]], toTile),
+							edge[0],
+							nextCost});
+				}
+			}
+		}
+
+		if (bestGoalNode == unreachable) {
+			return null;
+		}
+
+		// Walk back to the start, dropping the start tile itself if it happens to be an entrance.
+		ArrayList<Integer> reversedNodes = new ArrayList<>();
+		for (int node = bestGoalNode; node != unreachable; node = scratch.parents[node]) {
+			if (this.nodeTiles[node] != fromTile && this.nodeTiles[node] != toTile) {
+				reversedNodes.add(node);
+			}
+		}
+		int[] waypoints = new int[reversedNodes.size() + 1];
+		int[] waypointNodes = new int[waypoints.length];
+		for (int i = 0; i < reversedNodes.size(); i++) {
+			waypointNodes[i] = reversedNodes.get(reversedNodes.size() - 1 - i);
+			waypoints[i] = this.nodeTiles[waypointNodes[i]];
+		}
+		waypoints[waypoints.length - 1] = toTile;
+		waypointNodes[waypoints.length - 1] = unreachable;
+		return new Path(waypoints, waypointNodes, toRow, toCol);
+	}
+
+	/**
+	 * This method finds entrances on the right and bottom border of every cluster. Each maximal run of open tile
+	 * pairs across a border gets one transition in its middle.
+	 */
+	private void createEntrances() {
+		for (int clusterRow = 0; clusterRow < this.clusterRowCount; clusterRow++) {
+			for (int clusterCol = 0; clusterCol < this.clusterColCount; clusterCol++) {
+				int minRow = clusterRow * this.clusterSize;
+				int maxRow = Math.min(minRow + this.clusterSize, this.rowCount);
+				int minCol = clusterCol * this.clusterSize;
+				int maxCol = Math.min(minCol + this.clusterSize, this.colCount);
+
+				// Border with the cluster on the right
+				if (maxCol < this.colCount) {
+					int runStart = unreachable;
+					for (int r = minRow; r <= maxRow; r++) {
+						boolean isOpen = r < maxRow && this.isWalkableTile(r, maxCol - 1) && this.isWalkableTile(r, maxCol);
+						if (isOpen && runStart == unreachable) {
+							runStart = r;
+						} else if (!isOpen && runStart != unreachable) {
+							int middle = (runStart + r - 1) / 2;
+							this.addTransition(middle * this.colCount + maxCol - 1, middle * this.colCount + maxCol);
+							runStart = unreachable;
+						}
+					}
+				}
+
+				// Border with the cluster below
+				if (maxRow < this.rowCount) {
+					int runStart = unreachable;
+					for (int c = minCol; c <= maxCol; c++) {
+						boolean isOpen = c < maxCol && this.isWalkableTile(maxRow - 1, c) && this.isWalkableTile(maxRow, c);
+						if (isOpen && runStart == unreachable) {
+							runStart = c;
+						} else if (!isOpen && runStart != unreachable) {
+							int middle = (runStart + c - 1) / 2;
+							this.addTransition((maxRow - 1) * this.colCount + middle, maxRow * this.colCount + middle);
+							runStart = unreachable;
+						}
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * This method connects every pair of entrances of the same cluster with their distance inside the cluster, and
+	 * keeps the distances to every entrance for getLocalFirstStep.
+	 */
+	private void createIntraClusterEdges() {
+		this.nodeLocalDistances = new int[this.nodeCount][];
+		int[] queue = new int[this.clusterSize * this.clusterSize];
+		for (int cluster = 0; cluster < this.clusterNodes.size(); cluster++) {
+			ArrayList<Integer> nodes = this.clusterNodes.get(cluster);
+			for (int node : nodes) {
+				int[] distances = this.getLocalDistances(cluster, this.nodeTiles[node], new int[queue.length], queue);
+				this.nodeLocalDistances[node] = distances;
+				for (int otherNode : nodes) {
+					int distance = distances[this.getLocalIndex(cluster, this.nodeTiles[otherNode])];
+					if (otherNode != node && distance != unreachable) {
+						this.nodeEdges.get(node).add(new int[]{otherNode, distance});
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * This method adds the two tiles on both sides of a cluster border as nodes connected with cost 1.
+	 */
+	private void addTransition(int tile, int neighbourTile) {
+		int node = this.getOrCreateNode(tile);
+		int neighbourNode = this.getOrCreateNode(neighbourTile);
+		this.nodeEdges.get(node).add(new int[]{neighbourNode, 1});
+		this.nodeEdges.get(neighbourNode).add(new int[]{node, 1});
+	}
+
+	/**
+	 * This method returns the node placed on the given tile, creating it first if needed.
+	 */
+	private int getOrCreateNode(int tile) {
+		Integer existingNode = this.nodeIdAtTile.get(tile);
+		if (existingNode != null) {
+			return existingNode;
+		}
+		if (this.nodeCount == this.nodeTiles.length) {
+			this.nodeTiles = Arrays.copyOf(this.nodeTiles, this.nodeCount * 2);
+		}
+		int node = this.nodeCount++;
+		this.nodeTiles[node] = tile;
+		this.nodeEdges.add(new ArrayList<>());
+		this.nodeIdAtTile.put(tile, node);
+		this.clusterNodes.get(this.getClusterIndex(tile)).add(node);
+		return node;
+	}
+
+	/**
+	 * This method runs a breadth first search from sourceTile that never leaves the given cluster.
+	 * @param distances array of clusterSize * clusterSize entries to fill
+	 * @param queue array of clusterSize * clusterSize entries used while searching
+	 * @return distances indexed by getLocalIndex, unreachable for tiles that cannot be reached inside the cluster
+	 */
+	private int[] getLocalDistances(int cluster, int sourceTile, int[] distances, int[] queue) {
+		int minRow = (cluster / this.clusterColCount) * this.clusterSize;
+		int minCol = (cluster % this.clusterColCount) * this.clusterSize;
+		int maxRow = Math.min(minRow + this.clusterSize, this.rowCount);
+		int maxCol = Math.min(minCol + this.clusterSize, this.colCount);
+
+		Arrays.fill(distances, unreachable);
+		int head = 0;
+		int tail = 0;
+		queue[tail++] = sourceTile;
+		distances[this.getLocalIndex(cluster, sourceTile)] = 0;
+		while (head < tail) {
+			int tile = queue[head++];
+			int r = tile / this.colCount;
+			int c = tile % this.colCount;
+			int distance = distances[this.getLocalIndex(cluster, tile)];
+			for (int i = 0; i < 4; i++) {
+				int nr = r + neighbourRowOffsets[i];
+				int nc = c + neighbourColOffsets[i];
+				if (nr < minRow || nr >= maxRow || nc < minCol || nc >= maxCol || !this.isWalkableTile(nr, nc)) {
+					continue;
+				}
+				int neighbourTile = nr * this.colCount + nc;
+				int localIndex = this.getLocalIndex(cluster, neighbourTile);
+				if (distances[localIndex] == unreachable) {
+					distances[localIndex] = distance + 1;
+					queue[tail++] = neighbourTile;
+				}
+			}
+		}
+		return distances;
+	}
+
+	/**
+	 * This method returns the first step from fromTile to toTile, both inside the same cluster, without leaving it.
+	 * The kept distances of an entrance are used, other tiles are searched in the scratch arrays of the thread.
+	 * @param toNode node on toTile, or unreachable when toTile is not an entrance
+	 * @return the direction of the first step, or null when toTile cannot be reached inside the cluster
+	 */
+	private Directions getLocalFirstStep(int fromTile, int toTile, int toNode) {
+		int cluster = this.getClusterIndex(fromTile);
+		int[] distances;
+		if (toNode != unreachable) {
+			distances = this.nodeLocalDistances[toNode];
+		} else {
+			SearchScratch scratch = this.searchScratch.get();
+			scratch.prepareLocal(this.clusterSize * this.clusterSize);
+			distances = this.getLocalDistances(cluster, toTile, scratch.goalDistances, scratch.queue);
+		}
+		int fromDistance = distances[this.getLocalIndex(cluster, fromTile)];
+		if (fromDistance == unreachable) {
+			return null;
+		}
+
+		int r = fromTile / this.colCount;
+		int c = fromTile % this.colCount;
+		for (int i = 0; i < 4; i++) {
+			int nr = r + neighbourRowOffsets[i];
+			int nc = c + neighbourColOffsets[i];
+			int neighbourTile = nr * this.colCount + nc;
+			if (this.isWalkableTile(nr, nc)
+					&& this.getClusterIndex(neighbourTile) == cluster
+					&& distances[this.getLocalIndex(cluster, neighbourTile)] == fromDistance - 1) {
+				return this.getDirectionToNeighbour(fromTile, neighbourTile);
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * This method returns the direction from a tile to one of its four neighbours.
+	 */
+	private Directions getDirectionToNeighbour(int fromTile, int neighbourTile) {
+		if (neighbourTile == fromTile - this.colCount) {
+			return Directions.UP;
+		}
+		if (neighbourTile == fromTile + this.colCount) {
+			return Directions.DOWN;
+		}
+		return neighbourTile < fromTile ? Directions.LEFT : Directions.RIGHT;
+	}
+
+	/**
+	 * This method returns if the tile exists and is not a wall.
+	 */
+	private boolean isWalkableTile(int r, int c) {
+		return r >= 0 && r < this.rowCount && c >= 0 && c < this.colCount && !this.mapData.getIsWall(r, c);
+	}
+
+	/**
+	 * This method returns the index of the cluster that contains the given tile.
+	 */
+	private int getClusterIndex(int tile) {
+		int r = tile / this.colCount;
+		int c = tile % this.colCount;
+		return (r / this.clusterSize) * this.clusterColCount + c / this.clusterSize;
+	}
+
+	/**
+	 * This method returns the position of a tile relative to the top left corner of its cluster.
+	 */
+	private int getLocalIndex(int cluster, int tile) {
+		int r = tile / this.colCount - (cluster / this.clusterColCount) * this.clusterSize;
+		int c = tile % this.colCount - (cluster % this.clusterColCount) * this.clusterSize;
+		return r * this.clusterSize + c;
+	}
+
+	/**
+	 * This method returns the Manhattan distance between two tiles, which never overestimates the path length.
+	 */
+	private int getManhattanDistance(int tile, int otherTile) {
+		return Math.abs(tile / this.colCount - otherTile / this.colCount)
+				+ Math.abs(tile % this.colCount - otherTile % this.colCount);
+	}
+
+	/**
+	 * Path holds the waypoints of a planned path and how far along them the follower is.
+	 */
+	public static class Path {
+		private final int[] waypoints;
+		// Node on each waypoint, unreachable for the goal tile
+		private final int[] waypointNodes;
+		private final int goalRow;
+		private final int goalCol;
+		private int cursor = 0;
+
+		private Path(int[] waypoints, int[] waypointNodes, int goalRow, int goalCol) {
+			this.waypoints = waypoints;
+			this.waypointNodes = waypointNodes;
+			this.goalRow = goalRow;
+			this.goalCol = goalCol;
+		}
+
+		/**
+		 * Getter for goalRow
+		 */
+		public int getGoalRow() {
+			return this.goalRow;
+		}
+
+		/**
+		 * Getter for goalCol
+		 */
+		public int getGoalCol() {
+			return this.goalCol;
+		}
+	}
+
+	/**
+	 * SearchScratch keeps the cost and parent of every abstract node between queries. A query only resets the
+	 * nodes it touches by bumping the search stamp instead of clearing the arrays. It also keeps the distance and
+	 * queue arrays of the searches inside one cluster.
+	 */
+	private static class SearchScratch {
+		private int[] costs = new int[0];
+		private int[] parents = new int[0];
+		private int[] stamps = new int[0];
+		private int currentStamp = 0;
+
+		private int[] startDistances = new int[0];
+		private int[] goalDistances = new int[0];
+		private int[] queue = new int[0];
+
+		private void prepare(int nodeCount, int clusterTileCount) {
+			if (this.stamps.length < nodeCount) {
+				this.costs = new int[nodeCount];
+				this.parents = new int[nodeCount];
+				this.stamps = new int[nodeCount];
+				this.currentStamp = 0;
+			}
+			this.currentStamp++;
+			this.prepareLocal(clusterTileCount);
+		}
+
+		private void prepareLocal(int clusterTileCount) {
+			if (this.queue.length < clusterTileCount) {
+				this.startDistances = new int[clusterTileCount];
+				this.goalDistances = new int[clusterTileCount];
+				this.queue = new int[clusterTileCount];
+			}
+		}
+
+		private int getCost(int node) {
+			return this.stamps[node] == this.currentStamp ? this.costs[node] : Integer.MAX_VALUE;
+		}
+
+		private void setCost(int node, int cost, int parent) {
+			this.stamps[node] = this.currentStamp;
+			this.costs[node] = cost;
+			this.parents[node] = parent;
+		}
+	}
+}
@@ -0,0 +1,157 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * HierarchicalPathfinderBenchmark compares HierarchicalPathfinder with a breadth first search over the whole map on
+ * generated mazes from 20x20 up to 2000x2000. It does not need the game window, run its main method directly.
+ * "plan" is the time to search the abstract graph once, "hpa us/step" is the cost per step of planning once and then
+ * following the path to the goal (what a ghost pays per decision), and "bfs us/step" is one full map search per step.
+ */
+public class HierarchicalPathfinderBenchmark {
+	private static final int[] mazeSizes = {20, 50, 200, 500, 1000, 2000};
+	private static final int queryCount = 200;
+	private static final int warmUpQueryCount = 50;
+
+	/**
+	 * The main method prints one line per maze size.
+	 */
+	public static void main(String[] args) {
+		System.out.printf("%10s %10s %10s %10s %12s %12s%n",
+				"size", "nodes", "build ms", "plan us", "hpa us/step", "bfs us/step");
+		for (int size : mazeSizes) {
+			MapData mapData = MapCollections.generateMapData(size, size, 0, size);
+
+			long buildStart = System.nanoTime();
+			HierarchicalPathfinder pathfinder =
+					new HierarchicalPathfinder(mapData, HierarchicalPathfinder.defaultClusterSize);
+			long buildNanos = System.nanoTime() - buildStart;
+
+			int[][] queries = getRandomQueries(mapData, queryCount + warmUpQueryCount, size);
+			for (int i = 0; i < warmUpQueryCount; i++) {
+				pathfinder.getNextDirection(queries[i][0], queries[i][1], queries[i][2], queries[i][3]);
+				getNextDirectionByFullSearch(mapData, queries[i][0], queries[i][1], queries[i][2], queries[i][3]);
+			}
+
+			long planStart = System.nanoTime();
+			for (int i = warmUpQueryCount; i < queries.length; i++) {
+				pathfinder.findPath(queries[i][0], queries[i][1], queries[i][2], queries[i][3]);
+			}
+			long planNanos = System.nanoTime() - planStart;
+
+			long followStart = System.nanoTime();
+			long followedStepCount = 0;
+			for (int i = warmUpQueryCount; i < queries.length; i++) {
+				followedStepCount += followPath(pathfinder, queries[i]);
+			}
+			long followNanos = System.nanoTime() - followStart;
+
+			long bfsStart = System.nanoTime();
+			for (int i = warmUpQueryCount; i < queries.length; i++) {
+				getNextDirectionByFullSearch(mapData, queries[i][0], queries[i][1], queries[i][2], queries[i][3]);
+			}
+			long bfsNanos = System.nanoTime() - bfsStart;
+
+			System.out.printf("%10s %10d %10.1f %10.1f %12.2f %12.1f%n",
+					size + "x" + size,
+					pathfinder.getNodeCount(),
+					buildNanos / 1e6,
+					planNanos / 1e3 / queryCount,
+					followNanos / 1e3 / Math.max(1, followedStepCount),
+					bfsNanos / 1e3 / queryCount);
+		}
+	}
+
+	/**
+	 * This method plans a path once and follows it step by step to its goal, planning again only when the follower
+	 * falls off the path.
+	 * @return the number of steps taken
+	 */
+	private static long followPath(HierarchicalPathfinder pathfinder, int[] query) {
+		int r = query[0];
+		int c = query[1];
+		HierarchicalPathfinder.Path path = pathfinder.findPath(r, c, query[2], query[3]);
+		long stepCount = 0;
+		while (path != null) {
+			Directions direction = pathfinder.getNextDirection(path, r, c);
+			if (direction == null) {
+				path = pathfinder.findPath(r, c, query[2], query[3]);
+				continue;
+			}
+			if (direction == Directions.STILL) {
+				break;
+			}
+			r += direction == Directions.UP ? -1 : direction == Directions.DOWN ? 1 : 0;
+			c += direction == Directions.LEFT ? -1 : direction == Directions.RIGHT ? 1 : 0;
+			stepCount++;
+		}
+		return stepCount;
+	}
+
+	/**
+	 * This method picks random pairs of open tiles as {fromRow, fromCol, toRow, toCol}.
+	 */
+	private static int[][] getRandomQueries(MapData mapData, int count, long seed) {
+		Random random = new Random(seed);
+		ArrayList<int[]> queries = new ArrayList<>();
+		while (queries.size() < count) {
+			int[] query = new int[4];
+			for (int i = 0; i < 4; i += 2) {
+				do {
+					query[i] = random.nextInt(mapData.getRowCount());
+					query[i + 1] = random.nextInt(mapData.getColCount());
+				} while (mapData.getIsWall(query[i], query[i + 1]));
+			}
+			queries.add(query);
+		}
+		return queries.toArray(new int[0][]);
+	}
+
+	/**
+	 * Baseline: breadth first search from the target over the whole map, then step to the closer neighbour.
+	 */
+	private static Directions getNextDirectionByFullSearch(MapData mapData, int fromRow, int fromCol, int toRow,
+														   int toCol) {
+		int rowCount = mapData.getRowCount();
+		int colCount = mapData.getColCount();
+		int[] distances = new int[rowCount * colCount];
+		Arrays.fill(distances, -1);
+		int[] queue = new int[distances.length];
+		int head = 0;
+		int tail = 0;
+		queue[tail++] = toRow * colCount + toCol;
+		distances[toRow * colCount + toCol] = 0;
+		while (head < tail) {
+			int tile = queue[head++];
+			if (tile == fromRow * colCount + fromCol) {
+				break;
+			}
+			int r = tile / colCount;
+			int c = tile % colCount;
+			int[] neighbours = {tile - colCount, tile + colCount, tile - 1, tile + 1};
+			boolean[] isInside = {r > 0, r < rowCount - 1, c > 0, c < colCount - 1};
+			for (int i = 0; i < 4; i++) {
+				int neighbour = neighbours[i];
+				if (isInside[i] && distances[neighbour] == -1
+						&& !mapData.getIsWall(neighbour / colCount, neighbour % colCount)) {
+					distances[neighbour] = distances[tile] + 1;
+					queue[tail++] = neighbour;
+				}
+			}
+		}
+
+		int fromTile = fromRow * colCount + fromCol;
+		if (distances[fromTile] <= 0) {
+			return distances[fromTile] == 0 ? Directions.STILL : null;
+		}
+		Directions[] directions = {Directions.UP, Directions.DOWN, Directions.LEFT, Directions.RIGHT};
+		int[] neighbours = {fromTile - colCount, fromTile + colCount, fromTile - 1, fromTile + 1};
+		for (int i = 0; i < 4; i++) {
+			if (neighbours[i] >= 0 && neighbours[i] < distances.length
+					&& distances[neighbours[i]] == distances[fromTile] - 1) {
+				return directions[i];
+			}
+		}
+		return null;
+	}
+}
@@ -0,0 +1,68 @@
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class HierarchicalPathfinderTest {
+    MapData mapData = MapCollections.getMapData(1);
+    HierarchicalPathfinder pathfinder = new HierarchicalPathfinder(mapData, 10);
+
+    @Test
+    void getNextDirectionInsideCluster() {
+        assertEquals(pathfinder.getNextDirection(1, 1, 1, 5), Directions.RIGHT);
+    }
+
+    @Test
+    void getNextDirectionAcrossClusters() {
+        assertEquals(pathfinder.getNextDirection(14, 10, 1, 1), Directions.LEFT);
+    }
+
+    @Test
+    void getNextDirectionToWall() {
+        assertNull(pathfinder.getNextDirection(1, 1, 0, 0));
+    }
+
+    @Test
+    void followPathOnGeneratedMaze() {
+        MapData generatedMapData = MapCollections.generateMapData(101, 101, 0, 7);
+        HierarchicalPathfinder generatedPathfinder = new HierarchicalPathfinder(generatedMapData, 10);
+        HierarchicalPathfinder.Path path = generatedPathfinder.findPath(1, 1, 99, 99);
+        assertNotNull(path);
+
+        int r = 1;
+        int c = 1;
+        int stepCount = 0;
+        Directions direction = generatedPathfinder.getNextDirection(path, r, c);
+        while (direction != Directions.STILL && stepCount < 101 * 101) {
+            assertNotNull(direction);
+            r += direction == Directions.UP ? -1 : direction == Directions.DOWN ? 1 : 0;
+            c += direction == Directions.LEFT ? -1 : direction == Directions.RIGHT ? 1 : 0;
+            assertFalse(generatedMapData.getIsWall(r, c));
+            stepCount++;
+            direction = generatedPathfinder.getNextDirection(path, r, c);
+        }
+        assertEquals(r, 99);
+        assertEquals(c, 99);
+    }
+
+    @Test
+    void followPathAllocatesNothing() {
+        assumeTrue(ThreadAllocation.getIsSupported());
+        MapData generatedMapData = MapCollections.generateMapData(101, 101, 0, 7);
+        HierarchicalPathfinder generatedPathfinder = new HierarchicalPathfinder(generatedMapData, 10);
+        HierarchicalPathfinder.Path path = generatedPathfinder.findPath(1, 1, 99, 99);
+
+        int r = 1;
+        int c = 1;
+        long allocatedBytes = ThreadAllocation.getAllocatedBytes();
+        Directions direction = generatedPathfinder.getNextDirection(path, r, c);
+        while (direction != Directions.STILL && direction != null) {
+            r += direction == Directions.UP ? -1 : direction == Directions.DOWN ? 1 : 0;
+            c += direction == Directions.LEFT ? -1 : direction == Directions.RIGHT ? 1 : 0;
+            direction = generatedPathfinder.getNextDirection(path, r, c);
+        }
+        assertEquals(ThreadAllocation.getAllocatedBytes() - allocatedBytes, 0);
+        assertEquals(r, 99);
+        assertEquals(c, 99);
+    }
+}
@@ -0,0 +1,29 @@
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event for GameInfo.updateHighScore reading and writing the high score file.
+ */
+@Name("pacman.HighScoreIo")
+@Label("High Score I/O")
+@Category("Pacman")
+@Description("Reading and rewriting the high score file")
+public class HighScoreIoEvent extends Event {
+	@Label("Bytes Read")
+	@DataAmount
+	long bytesRead;
+
+	@Label("Bytes Written")
+	@DataAmount
+	long bytesWritten;
+
+	@Label("Score")
+	int score;
+
+	@Label("Succeeded")
+	boolean isSucceeded;
+}
@@ -22,6 +22,12 @@ public class HistoryHighScoreState extends BasicGameState {
     private Image backButtonImage;
     private static int currentScore = 0;
 
+    // The high scores as read from high-scores.txt when the state is entered, as text and as numbers
+    private String[] highScoreTexts = new String[0];
+    private int[] highScores = new int[0];
+    // Set when the high scores were read by prewarm before the state is entered
+    private boolean isPrewarmed = false;
+
     private float backButtonWidth;
     private float backButtonHeight;
     private float backButtonX;
@@ -44,8 +50,52 @@ public class HistoryHighScoreState extends BasicGameState {
      */
     @Override
     public void init(GameContainer gameContainer, StateBasedGame stateBasedGame) throws SlickException {
-    	this.highScoreImage = new Image("images/highScore.png");
-    	this.backButtonImage = new Image("images/backButton.png");
+    	AssetLoadEvent assetLoad = new AssetLoadEvent("HistoryHighScoreState");
+    	assetLoad.begin();
+    	this.highScoreImage = assetLoad.add(new Image("images/highScore.png"));
+    	this.backButtonImage = assetLoad.add(new Image("images/backButton.png"));
+    	assetLoad.commit();
+    }
+
+    /**
+     * Overridden from BasicGameState class to read the high scores once when the state is entered, instead of in every
+     * frame. They are not read again when prewarm has read them already.
+     * @param gameContainer required by overridden method but not used
+     * @param stateBasedGame required by overridden method but not used
+     */
+    @Override
+    public void enter(GameContainer gameContainer, StateBasedGame stateBasedGame) {
+        if (!this.isPrewarmed) {
+            this.loadHighScores(Paths.get("high-scores.txt"));
+        }
+        this.isPrewarmed = false;
+    }
+
+    /**
+     * Reads the high scores ahead of entering the state, so that entering it does not wait for the file. It is called
+     * by GameStateManager once the game is over and the new scores are saved.
+     */
+    public void prewarm() {
+        this.loadHighScores(Paths.get("high-scores.txt"));
+        this.isPrewarmed = true;
+    }
+
+    /**
+     * Reads the high scores from a file with one score per line. A missing or unreadable file shows no scores.
+     * @param file the file to read
+     */
+    void loadHighScores(Path file) {
+        List<String> lines = Collections.emptyList();
+        try {
+            lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        } catch (Exception e) {
+            // do nothing...
+        }
+        this.highScoreTexts = lines.toArray(new String[0]);
+        this.highScores = new int[this.highScoreTexts.length];
+        for (int i = 0; i < this.highScoreTexts.length; i++) {
+            this.highScores[i] = Integer.parseInt(this.highScoreTexts[i]);
+        }
     }
 
     /**
@@ -65,24 +115,10 @@ public class HistoryHighScoreState extends BasicGameState {
         float iconY = (float) (gameContainer.getHeight() * 0.15);
         this.highScoreImage.draw(iconX, iconY, iconWidth, iconHeight);
 
-        Path file = Paths.get("high-scores.txt");
-		List<String> lines = Collections.emptyList();
-		try {
-			// Files.write(file, lines, StandardCharsets.UTF_8);
-			lines = Files.readAllLines(file, StandardCharsets.UTF_8); 
-		} catch (Exception e) {
-			// do nothing...
-		}
-		float scoreY = (float) (iconY + (gameContainer.getHeight() * 0.4));
-		boolean currentScorePrinted = false;
-		for (String s : lines) {
-			if (Integer.parseInt(s) == currentScore && !currentScorePrinted) {
-				currentScorePrinted = true;
-				graphics.drawString("Current Score: ", gameContainer.getWidth() / 2 - 140, scoreY);
-			}
-			graphics.drawString(s, gameContainer.getWidth() / 2 - 10, scoreY);
-            scoreY += 20;
-		}
+        float scoreY = this.drawHighScores(
+                graphics,
+                gameContainer.getWidth() / 2,
+                (float) (iconY + (gameContainer.getHeight() * 0.4)));
 
         this.backButtonX = iconX;
         this.backButtonY = scoreY;
@@ -91,6 +127,25 @@ public class HistoryHighScoreState extends BasicGameState {
         this.backButtonImage.draw(this.backButtonX, this.backButtonY, this.backButtonWidth, this.backButtonHeight);
     }
 
+    /**
+     * Draws the high scores one below the other, marking the first one equal to the current score.
+     * @param centerX the x coordinate of the center of the window
+     * @param scoreY the y coordinate of the first score
+     * @return the y coordinate below the last score
+     */
+    float drawHighScores(Graphics graphics, float centerX, float scoreY) {
+        boolean currentScorePrinted = false;
+        for (int i = 0; i < this.highScores.length; i++) {
+            if (this.highScores[i] == currentScore && !currentScorePrinted) {
+                currentScorePrinted = true;
+                graphics.drawString("Current Score: ", centerX - 140, scoreY);
+            }
+            graphics.drawString(this.highScoreTexts[i], centerX - 10, scoreY);
+            scoreY += 20;
+        }
+        return scoreY;
+    }
+
     /**
      * Overridden from BasicGameState to update necessary objects in this class necessary for rendering or other class
      * dependencies every frame of the game.
@@ -0,0 +1,82 @@
+import org.newdawn.slick.Color;
+import org.newdawn.slick.Graphics;
+import org.newdawn.slick.Image;
+import org.newdawn.slick.SlickException;
+
+/**
+ * HudText is one line of the HUD, a label optionally followed by a number. Once init has created its offscreen image,
+ * the text is drawn into the image only when the number changes, and every frame draws the image as one textured
+ * quad instead of one quad per glyph through the font. Before init, or without a display, the text is drawn with the
+ * font every frame.
+ *
+ * HudText is only used from the render thread.
+ */
+public class HudText {
+	// Large enough for the label and any score in the default font
+	private static final int imageWidth = 256;
+	private static final int imageHeight = 20;
+
+	private final LabeledIntText text;
+	private final String label;
+
+	private Image image;
+	private Graphics imageGraphics;
+	// Whether the image holds the text, and the number in it
+	private boolean isImageDrawn = false;
+	private int imageValue;
+
+	public HudText(String label) {
+		this.label = label;
+		this.text = new LabeledIntText(label);
+	}
+
+	/**
+	 * This method creates the offscreen image. It needs the display, so it is called from the init of a game state.
+	 * @return the image, for counting it as a loaded asset
+	 */
+	public Image init() throws SlickException {
+		Image image = new Image(imageWidth, imageHeight);
+		Graphics imageGraphics = image.getGraphics();
+		imageGraphics.setBackground(Color.transparent);
+		this.image = image;
+		this.imageGraphics = imageGraphics;
+		this.isImageDrawn = false;
+		return image;
+	}
+
+	/**
+	 * This method draws the label alone.
+	 */
+	public void render(Graphics g, float x, float y, RenderCounters renderCounters) {
+		this.render(g, this.label, 0, x, y, renderCounters);
+	}
+
+	/**
+	 * This method draws the label followed by value.
+	 */
+	public void render(Graphics g, int value, float x, float y, RenderCounters renderCounters) {
+		this.render(g, null, value, x, y, renderCounters);
+	}
+
+	/**
+	 * This method draws fixedText, or the label followed by value when fixedText is null, redrawing the image first
+	 * when the number changed.
+	 */
+	private void render(Graphics g, String fixedText, int value, float x, float y, RenderCounters renderCounters) {
+		if (this.image == null) {
+			g.drawString(fixedText != null ? fixedText : this.text.get(value), x, y);
+			renderCounters.countString(RenderComponent.GAME_INFO, g);
+			return;
+		}
+		if (!this.isImageDrawn || value != this.imageValue) {
+			this.imageGraphics.clear();
+			this.imageGraphics.drawString(fixedText != null ? fixedText : this.text.get(value), 0, 0);
+			this.imageGraphics.flush();
+			renderCounters.countString(RenderComponent.GAME_INFO, this.imageGraphics);
+			this.isImageDrawn = true;
+			this.imageValue = value;
+		}
+		this.image.draw(x, y);
+		renderCounters.countDraw(RenderComponent.GAME_INFO, this.image);
+	}
+}
@@ -0,0 +1,91 @@
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * InputRingBuffer carries key presses from the thread Slick delivers them on to the simulation. It is a lock-free ring
+ * buffer for exactly one producer and one consumer. Every press is stored with the time it arrived, so the simulation
+ * applies it on the tick that was running when it arrived, whatever rate the two threads run at.
+ */
+public class InputRingBuffer {
+	/**
+	 * Handler of the key presses taken out of the buffer.
+	 */
+	public interface KeyEventHandler {
+		void accept(int key, long timeNanos);
+	}
+
+	private final int mask;
+	private final int[] keys;
+	private final long[] timesNanos;
+
+	// Number of events ever written and ever read. The producer only writes tail and the consumer only writes head.
+	private final AtomicLong tail = new AtomicLong();
+	private final AtomicLong head = new AtomicLong();
+
+	private int droppedCount = 0;
+
+	/**
+	 * Constructor
+	 * @param capacity number of events the buffer holds, rounded up to a power of two
+	 */
+	public InputRingBuffer(int capacity) {
+		int size = Integer.highestOneBit(Math.max(1, capacity - 1)) << 1;
+		this.mask = size - 1;
+		this.keys = new int[size];
+		this.timesNanos = new long[size];
+	}
+
+	/**
+	 * Producer side: adds a key press.
+	 * @return false when the buffer is full and the press was dropped
+	 */
+	public boolean offer(int key, long timeNanos) {
+		long currentTail = this.tail.get();
+		if (currentTail - this.head.get() > this.mask) {
+			this.droppedCount++;
+			return false;
+		}
+		int slot = (int) currentTail & this.mask;
+		this.keys[slot] = key;
+		this.timesNanos[slot] = timeNanos;
+		// The ordered write publishes the slot to the consumer after its contents.
+		this.tail.lazySet(currentTail + 1);
+		return true;
+	}
+
+	/**
+	 * Consumer side: passes every key pressed at or before the given time to the handler, oldest first, with the time
+	 * it was pressed. Later presses stay in the buffer for the next tick.
+	 * @return the number of keys handled
+	 */
+	public int drainUntil(long timeNanos, KeyEventHandler handler) {
+		long currentHead = this.head.get();
+		long currentTail = this.tail.get();
+		int handledCount = 0;
+		while (currentHead < currentTail) {
+			int slot = (int) currentHead & this.mask;
+			if (this.timesNanos[slot] - timeNanos > 0) {
+				break;
+			}
+			handler.accept(this.keys[slot], this.timesNanos[slot]);
+			currentHead++;
+			handledCount++;
+			// Hands the slot back to the producer.
+			this.head.lazySet(currentHead);
+		}
+		return handledCount;
+	}
+
+	/**
+	 * Getter for the number of key presses waiting in the buffer
+	 */
+	public int getSize() {
+		return (int) (this.tail.get() - this.head.get());
+	}
+
+	/**
+	 * Getter for the number of key presses the producer dropped because the buffer was full
+	 */
+	public int getDroppedCount() {
+		return this.droppedCount;
+	}
+}
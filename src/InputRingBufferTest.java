@@ -0,0 +1,64 @@
+import java.util.ArrayList;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InputRingBufferTest {
+    InputRingBuffer buffer = new InputRingBuffer(4);
+    ArrayList<Integer> handledKeys = new ArrayList<>();
+
+    @Test
+    void drainUntilKeepsLaterPresses() {
+        buffer.offer(1, 10);
+        buffer.offer(2, 20);
+        buffer.offer(3, 30);
+
+        assertEquals(buffer.drainUntil(20, this::handleKey), 2);
+        assertEquals(handledKeys.size(), 2);
+        assertEquals(handledKeys.get(1), 2);
+        assertEquals(buffer.getSize(), 1);
+
+        buffer.drainUntil(30, this::handleKey);
+        assertEquals(handledKeys.get(2), 3);
+    }
+
+    @Test
+    void offerToFullBufferIsDropped() {
+        for (int i = 0; i < 4; i++) {
+            assertTrue(buffer.offer(i, i));
+        }
+        assertFalse(buffer.offer(4, 4));
+        assertEquals(buffer.getDroppedCount(), 1);
+
+        buffer.drainUntil(1, this::handleKey);
+        assertTrue(buffer.offer(5, 5));
+        buffer.drainUntil(5, this::handleKey);
+        assertEquals(handledKeys.size(), 5);
+        assertEquals(handledKeys.get(4), 5);
+    }
+
+    @Test
+    void noPressIsLostAcrossThreads() throws InterruptedException {
+        InputRingBuffer sharedBuffer = new InputRingBuffer(64);
+        int pressCount = 200000;
+        Thread producer = new Thread(() -> {
+            for (int i = 0; i < pressCount; i++) {
+                while (!sharedBuffer.offer(i, System.nanoTime())) {
+                    Thread.yield();
+                }
+            }
+        });
+        producer.start();
+
+        int[] expectedKey = {0};
+        while (expectedKey[0] < pressCount) {
+            sharedBuffer.drainUntil(System.nanoTime(), (key, timeNanos) -> assertEquals(key, expectedKey[0]++));
+        }
+        producer.join();
+        assertEquals(sharedBuffer.getSize(), 0);
+    }
+
+    void handleKey(int key, long timeNanos) {
+        handledKeys.add(key);
+    }
+}
@@ -0,0 +1,24 @@
+/**
+ * LabeledIntText is a label followed by a number, such as "Score: 120", for drawing with Graphics.drawString. The text
+ * is only built again when the number changes, so drawing an unchanged number every frame allocates nothing.
+ */
+public class LabeledIntText {
+	private final String label;
+	private int value;
+	private String text;
+
+	public LabeledIntText(String label) {
+		this.label = label;
+	}
+
+	/**
+	 * This method returns the label followed by value.
+	 */
+	public String get(int value) {
+		if (this.text == null || value != this.value) {
+			this.value = value;
+			this.text = this.label + value;
+		}
+		return this.text;
+	}
+}
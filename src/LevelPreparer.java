@@ -0,0 +1,129 @@
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+
+/**
+ * LevelPreparer builds the objects of a level on a background thread, so that the level is ready when the game gets
+ * there. MainGameState asks for the next level as soon as a level starts, and at level up takes the prepared level
+ * instead of building it inside a frame. Taking a level that was not asked for, or is still being built, builds it
+ * or waits for it, so the game always gets the level it needs. A prepared level that is replaced before it is taken
+ * is handed to the recycler, so its objects can be reused for the next one.
+ *
+ * prepare and take are called from one thread, the one changing levels.
+ */
+public class LevelPreparer<T> {
+	private final IntFunction<T> factory;
+	private final Consumer<T> recycler;
+	private final ThreadPoolExecutor executor;
+
+	private int preparedLevel;
+	private Future<T> prepared;
+
+	// Number of levels taken from the background thread and built by take
+	private int preparedTakeCount = 0;
+	private int synchronousTakeCount = 0;
+
+	/**
+	 * Constructor
+	 * @param factory builds the objects of a level, called on the background thread
+	 */
+	public LevelPreparer(IntFunction<T> factory) {
+		this(factory, objects -> {
+		});
+	}
+
+	/**
+	 * Constructor
+	 * @param factory builds the objects of a level, called on the background thread
+	 * @param recycler takes back the objects of a prepared level that was replaced, called on the background thread
+	 */
+	public LevelPreparer(IntFunction<T> factory, Consumer<T> recycler) {
+		this.factory = factory;
+		this.recycler = recycler;
+		this.executor = new ThreadPoolExecutor(1, 1, 1, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+			Thread thread = new Thread(runnable, "level-preparer");
+			// Preparing a level should not keep the game running once the window is closed.
+			thread.setDaemon(true);
+			return thread;
+		});
+		// A level is prepared once per level, the thread does not need to wait for work in between.
+		this.executor.allowCoreThreadTimeOut(true);
+	}
+
+	/**
+	 * This method starts building a level in the background, replacing the level prepared before unless it is the
+	 * same one. The replaced level is built anyway and recycled, the background thread has usually finished it.
+	 */
+	public void prepare(int level) {
+		Future<T> replaced = this.prepared;
+		if (replaced != null && this.preparedLevel == level) {
+			return;
+		}
+		this.preparedLevel = level;
+		this.prepared = this.executor.submit(() -> {
+			// Levels are built one after the other, so the replaced level is done by now.
+			if (replaced != null) {
+				try {
+					this.recycler.accept(replaced.get());
+				} catch (ExecutionException e) {
+					// Nothing was built to recycle
+				}
+			}
+			return this.factory.apply(level);
+		});
+	}
+
+	/**
+	 * This method returns if the level has been built in the background and can be taken without waiting.
+	 */
+	public boolean getIsReady(int level) {
+		return this.prepared != null && this.preparedLevel == level && this.prepared.isDone();
+	}
+
+	/**
+	 * This method returns the objects of a level, the prepared ones when they are for this level, otherwise built
+	 * now.
+	 */
+	public T take(int level) {
+		if (this.prepared != null && this.preparedLevel == level) {
+			Future<T> prepared = this.prepared;
+			this.prepared = null;
+			try {
+				T objects = prepared.get();
+				this.preparedTakeCount++;
+				return objects;
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			} catch (ExecutionException e) {
+				// Building it again here reports the failure to the caller
+			}
+		}
+		this.synchronousTakeCount++;
+		return this.factory.apply(level);
+	}
+
+	/**
+	 * Getter for the number of levels take returned from the background thread
+	 */
+	public int getPreparedTakeCount() {
+		return this.preparedTakeCount;
+	}
+
+	/**
+	 * Getter for the number of levels take had to build itself
+	 */
+	public int getSynchronousTakeCount() {
+		return this.synchronousTakeCount;
+	}
+
+	/**
+	 * This method stops the background thread.
+	 */
+	public void shutdown() {
+		this.executor.shutdownNow();
+	}
+}
@@ -0,0 +1,57 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LevelPreparerTest {
+    List<String> recycledLevels = Collections.synchronizedList(new ArrayList<>());
+    LevelPreparer<String> preparer = new LevelPreparer<>(
+            level -> level + " " + Thread.currentThread().getName(), recycledLevels::add);
+
+    @Test
+    void takePreparedLevel() {
+        preparer.prepare(2);
+        assertEquals(preparer.take(2), "2 level-preparer");
+        assertEquals(preparer.getPreparedTakeCount(), 1);
+        assertEquals(preparer.getSynchronousTakeCount(), 0);
+    }
+
+    @Test
+    void takeLevelNotPrepared() {
+        assertEquals(preparer.take(1), "1 " + Thread.currentThread().getName());
+        assertEquals(preparer.getSynchronousTakeCount(), 1);
+    }
+
+    @Test
+    void takeOtherLevelThanPrepared() {
+        preparer.prepare(3);
+        assertEquals(preparer.take(4), "4 " + Thread.currentThread().getName());
+        assertEquals(preparer.getPreparedTakeCount(), 0);
+    }
+
+    @Test
+    void prepareReplacesPreparedLevel() {
+        preparer.prepare(3);
+        preparer.prepare(1);
+        assertEquals(preparer.take(1), "1 level-preparer");
+        assertEquals(preparer.take(3), "3 " + Thread.currentThread().getName());
+        assertEquals(recycledLevels, List.of("3 level-preparer"));
+    }
+
+    @Test
+    void getIsReadyOnceBuilt() {
+        assertFalse(preparer.getIsReady(2));
+        preparer.prepare(2);
+        long deadlineNanos = System.nanoTime() + 5_000_000_000L;
+        while (!preparer.getIsReady(2) && System.nanoTime() < deadlineNanos) {
+            Thread.onSpinWait();
+        }
+        assertTrue(preparer.getIsReady(2));
+        assertFalse(preparer.getIsReady(3));
+        preparer.take(2);
+        assertFalse(preparer.getIsReady(2));
+    }
+}
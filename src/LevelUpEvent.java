@@ -0,0 +1,23 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event for MainGameState.levelUp, which builds the map, ghosts and pacman of the next level.
+ */
+@Name("pacman.LevelUp")
+@Label("Level Up")
+@Category("Pacman")
+@Description("Change to the next level, including building and loading it")
+public class LevelUpEvent extends Event {
+	@Label("Level")
+	int level;
+
+	@Label("Ghost Count")
+	int ghostCount;
+
+	@Label("Dot Count")
+	int dotCount;
+}
@@ -1,7 +1,7 @@
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import org.newdawn.slick.*;
-import org.newdawn.slick.geom.Shape;
 import org.newdawn.slick.state.BasicGameState;
 import org.newdawn.slick.state.StateBasedGame;
 
@@ -11,6 +11,8 @@ import org.newdawn.slick.state.StateBasedGame;
  */
 public class MainGameState extends BasicGameState {
 	private boolean isDebug;
+	// Frame timing overlay, shown in debug mode and toggled with F3
+	private boolean isDebugOverlayShown;
 	private boolean shouldFullReset = false;
 
 	private int gameWindowHeight;
@@ -26,6 +28,28 @@ public class MainGameState extends BasicGameState {
 
 	private GameInfo gameInfo;
 	private HashMap<Integer, Directions> keyMap = new HashMap<>();
+	// Key presses from Slick, applied by the simulation on the tick they arrived in
+	private static final int inputBufferCapacity = 256;
+	private InputRingBuffer inputEvents = new InputRingBuffer(inputBufferCapacity);
+	private InputRingBuffer.KeyEventHandler keyHandler = this::applyKey;
+	// Set by fullGameReset. The simulation, the only consumer of inputEvents, then throws away the keys pressed before
+	// inputResetNanos on its next tick.
+	private long inputResetNanos;
+	private volatile boolean shouldDiscardInput = false;
+	private InputRingBuffer.KeyEventHandler discardKeyHandler = (key, timeNanos) -> {
+	};
+
+	// Duration of every phase of the tick and of render
+	private FrameTimings frameTimings = new FrameTimings();
+	// Draws, texture binds and strings issued by every component in the last frame
+	private RenderCounters renderCounters = new RenderCounters();
+	// Exported by MetricsServer, null unless metrics are enabled
+	private volatile GameMetrics metrics;
+
+	// Time from a direction key press to pacman turning that way
+	private TurnLatencyRecorder turnLatency = new TurnLatencyRecorder();
+	// Distance in TileUnits from a tile center, before or after it, within which pacman cuts the corner of a buffered turn
+	private final int preTurnWindow = Integer.getInteger("pacman.preTurnWindow", Pacman.defaultPreTurnWindow);
 	
 	private MapData mapData;
 	
@@ -33,10 +57,46 @@ public class MainGameState extends BasicGameState {
 	private Pacman pacman;
 
 	private ArrayList<Ghost> ghosts;
+	private GhostStore ghostStore;
+
+	// Updates the ghosts from a frozen copy of the tick state, in parallel when there are many of them.
+	private GhostUpdatePhase ghostUpdatePhase = new GhostUpdatePhase(GhostUpdatePhase.defaultParallelGhostThreshold);
+
+	// Resolves ghost and pacman contacts once everything moved, in the same tick.
+	private CollisionPhase collisionPhase = new CollisionPhase();
+
+	// Runs the expensive planning of ghost brains within a fixed time budget per frame.
+	private GhostBrainScheduler ghostBrainScheduler = new GhostBrainScheduler(GhostBrainScheduler.defaultTickBudgetMicros);
+
+	// The simulation publishes what to draw after every tick, render always draws the latest complete snapshot.
+	private TripleBuffer<FrameSnapshot> frameSnapshots =
+			new TripleBuffer<>(new FrameSnapshot(), new FrameSnapshot(), new FrameSnapshot());
+	private long simulationTick = 0;
+
+	// Runs the simulation on its own thread when enabled, otherwise update runs it on the render thread.
+	private boolean isSimulationThreaded;
+	private SimulationLoop simulationLoop;
+
+	// Set by the simulation when pacman lost the last life or ate the last dot. The simulation stops ticking until
+	// update has changed the level or ended the game on the render thread, which owns the images and game states.
+	private volatile boolean isGameFlowChangePending = false;
+
+	// Builds the map, pacman and ghosts of the next level in the background while the current one is played.
+	private LevelPreparer<GameLevel> levelPreparer = new LevelPreparer<>(this::createLevel, this::recycleLevel);
+	// The level being played, and levels no longer played whose objects are reused for the next ones
+	private GameLevel currentLevel;
+	private final ConcurrentLinkedQueue<GameLevel> spareLevels = new ConcurrentLinkedQueue<>();
 
 	public MainGameState(int gameWindowWidth, int gameWindowHeight, GameInfo gameInfo,boolean isDebug) {
+		this(gameWindowWidth, gameWindowHeight, gameInfo, isDebug, false);
+	}
+
+	public MainGameState(int gameWindowWidth, int gameWindowHeight, GameInfo gameInfo, boolean isDebug,
+						 boolean isSimulationThreaded) {
 		this.gameInfo = gameInfo;
 		this.isDebug = isDebug;
+		this.isDebugOverlayShown = isDebug;
+		this.isSimulationThreaded = isSimulationThreaded;
 
 		initKeyMap();
 		this.gameWindowWidth = gameWindowWidth;
@@ -50,83 +110,157 @@ public class MainGameState extends BasicGameState {
 	 */
 	@Override
 	public void init(GameContainer gameContainer, StateBasedGame stateBasedGame) {
-		this.initMapGhostsPacman();
+		this.gameInfo.initHud();
+		this.initLevel();
+		if (this.isSimulationThreaded) {
+			this.simulationLoop = new SimulationLoop(this, SimulationLoop.defaultTickMillis);
+			this.simulationLoop.start();
+		}
 	}
 	
 	/**
 	 * update method is overridden from BasicGame class, it updates the positions (x, y) and directions (dir) of the pacman and ghosts, 
-	 * as well as the dots on the map. Method update gets run every frame of the game.
+	 * as well as the dots on the map. Method update gets run every frame of the game. When the simulation runs on its
+	 * own thread, update only handles animations, level changes and game over.
 	 */
 	@Override
 	public void update(GameContainer container, StateBasedGame stateBasedGame, int delta) {
+		// The simulation is not ticking while a game flow change is pending, so the objects can be replaced here.
 		if (this.shouldFullReset) {
 			this.fullGameReset();
 			this.shouldFullReset = false;
+			this.publishFrameSnapshot();
+			this.isGameFlowChangePending = false;
 		}
+		else if (this.isGameFlowChangePending) {
+			// game over
+			if (this.gameInfo.getLives() <= 0) {
+				this.gameInfo.updateHighScore();
+				HistoryHighScoreState.setCurrentScore(this.gameInfo.getScore());
+				// The next game starts from the first level, built while the game over screens are shown
+				this.levelPreparer.prepare(GameInfo.initialLevel);
+				stateBasedGame.enterState(GameStateManager.gameOverStateId);
+				// we don't want to perform full game reset right after game ends because GameOverState needs the gameInfo
+				// for displaying score and level. We perform full game reset next time this update is run (game state
+				// is turned active again).
+				this.shouldFullReset = true;
+				return;
+			}
+			this.levelUp();
+			this.publishFrameSnapshot();
+			this.isGameFlowChangePending = false;
+		}
+
+		Ghost.updateSharedAnimations(delta);
+		Pacman.updateSharedAnimations(delta);
 
-		if (this.gameInfo.getLives() > 0) {
-			 stateBasedGame.enterState(GameStateManager.mainGameStateId);
+		if (this.simulationLoop == null) {
+			this.runSimulationStep(delta);
 		}
-		// game over
-		else {
-			this.gameInfo.updateHighScore();
-			HistoryHighScoreState.setCurrentScore(this.gameInfo.getScore());
-			stateBasedGame.enterState(GameStateManager.gameOverStateId);
-			// we don't want to perform full game reset right after game ends because GameOverState needs the gameInfo
-			// for displaying score and level. We perform full game reset next time this update is run (game state
-			// is turned active again).
-			this.shouldFullReset = true;
+	}
+
+	/**
+	 * This method runs one simulation tick and publishes its snapshot, unless a game flow change is pending. It is
+	 * called by update, or by the SimulationLoop when the simulation has its own thread.
+	 */
+	public void runSimulationStep(int delta) {
+		if (this.isGameFlowChangePending) {
 			return;
 		}
-
-		this.manageGhostPacmanCollision();
-
-		// For some reason the overridden keyPressed method stopped being triggered. Therefore explicitly passing
-		// pressed keys here.
-		this.keyPressed(container);
-
-		// update for pacman
-		ArrayList<Shape> pacmanCloseByWallShapes = this.map.getCloseByWallShapes(this.pacman.getX(), this.pacman.getY());
-		float pacmanClosestNonCollisionX = this.map.getClosestNonCollisionX(this.pacman.getX());
-		float pacmanClosestNonCollisionY = this.map.getClosestNonCollisionY(this.pacman.getY());
-		this.pacman.update(delta, pacmanCloseByWallShapes,pacmanClosestNonCollisionX, pacmanClosestNonCollisionY);
-
-		// update for ghosts
-		this.ghosts.forEach(g -> {
-			ArrayList<Shape> closeByWallShapes = this.map.getCloseByWallShapes(g.getX(), g.getY());
-			float ghostClosestNonCollisionX = this.map.getClosestNonCollisionX(g.getX());
-			float ghostClosestNonCollisionY = this.map.getClosestNonCollisionY(g.getY());
-			g.update(
-					delta,
-					closeByWallShapes,
-					ghostClosestNonCollisionX,
-					ghostClosestNonCollisionY,
-					this.pacman
-			);
-		});
-		
-		// update for map
-		int scoreAdded = this.map.update(this.pacman.getX(), this.pacman.getY());
-		this.gameInfo.addScore(scoreAdded);
-
-		if (this.map.getCurrentDotCount() <= 0) {
-			this.levelUp();
+		boolean shouldChangeGameFlow = this.tick(delta);
+		this.publishFrameSnapshot();
+		if (shouldChangeGameFlow) {
+			this.isGameFlowChangePending = true;
 		}
 	}
 
 	/**
 	 * render method is overridden from BasicGame class, it gets executed after update method in every frame.
-	 * It renders the updated map, ghosts, and pacman, based on the updated data.
+	 * It renders the latest snapshot published by the simulation without waiting for a tick.
 	 */
 	@Override
 	public void render(GameContainer container, StateBasedGame stateBasedGame, Graphics g) {
-		this.map.render(g);
+		FrameSnapshot snapshot = this.frameSnapshots.getLatest();
+		if (snapshot.getTick() < 0) {
+			return;
+		}
+
+		this.renderCounters.beginFrame();
+		long phaseStartNanos = System.nanoTime();
+		this.map.render(g, snapshot.getDots(), this.renderCounters);
+		phaseStartNanos = this.frameTimings.record(FramePhase.MAP_RENDER, phaseStartNanos);
+
+		this.pacman.render(
+				g,
+				snapshot.getPacmanX(),
+				snapshot.getPacmanY(),
+				snapshot.getPacmanDir(),
+				snapshot.getShouldShowArvind(),
+				this.renderCounters);
+		int ghostCount = Math.min(snapshot.getGhostCount(), this.ghosts.size());
+		for (int i = 0; i < ghostCount; i++) {
+			float x = snapshot.getGhostX(i);
+			float y = snapshot.getGhostY(i);
+			if (this.getIsOnScreen(x, y)) {
+				this.ghosts.get(i).render(g, x, y, snapshot.getGhostDir(i), this.renderCounters);
+			}
+		}
+		phaseStartNanos = this.frameTimings.record(FramePhase.ENTITY_RENDER, phaseStartNanos);
+		this.gameInfo.render(g, snapshot.getLevel(), snapshot.getScore(), snapshot.getLives(), this.renderCounters);
+		this.frameTimings.record(FramePhase.HUD_RENDER, phaseStartNanos);
+
+		if (this.isDebugOverlayShown) {
+			this.renderDebugOverlay(g);
+		}
+	}
 
-		this.pacman.render(g);
-		this.ghosts.forEach(ghost -> {
-			ghost.render(g);
-		});
-		this.gameInfo.render(g);
+	/**
+	 * Draw p50, p99 and max of the duration of every phase in microseconds at the top left of the window, and below
+	 * them the draw work of every component in this frame.
+	 */
+	private void renderDebugOverlay(Graphics g) {
+		g.drawString(String.format("%-14s %8s %8s %8s", "phase us", "p50", "p99", "max"), 10, 30);
+		int y = 45;
+		for (FramePhase phase : FramePhase.values()) {
+			DynamicRangeHistogram histogram = this.frameTimings.get(phase);
+			g.drawString(String.format("%-14s %8.1f %8.1f %8.1f",
+					phase.toString().toLowerCase(),
+					histogram.getPercentile(50) / 1e3,
+					histogram.getPercentile(99) / 1e3,
+					histogram.getMax() / 1e3), 10, y);
+			y += 15;
+		}
+		g.drawString(String.format("%-14s %8s %8s %8s", "render", "draws", "binds", "strings"), 10, y);
+		y += 15;
+		for (RenderComponent component : RenderComponent.values()) {
+			g.drawString(String.format("%-14s %8d %8d %8d",
+					component.toString().toLowerCase(),
+					this.renderCounters.getDrawCalls(component),
+					this.renderCounters.getTextureBinds(component),
+					this.renderCounters.getStringDraws(component)), 10, y);
+			y += 15;
+		}
+	}
+
+	/**
+	 * Getter for the durations of the phases of the tick and of render
+	 */
+	public FrameTimings getFrameTimings() {
+		return this.frameTimings;
+	}
+
+	/**
+	 * Getter for the draw work of every component in the last frame
+	 */
+	public RenderCounters getRenderCounters() {
+		return this.renderCounters;
+	}
+
+	/**
+	 * Setter for metrics, every tick after this is recorded into it
+	 */
+	public void setMetrics(GameMetrics metrics) {
+		this.metrics = metrics;
 	}
 
 	@Override
@@ -136,23 +270,114 @@ public class MainGameState extends BasicGameState {
 
 
 	/**
-	 * keyPressed gets called when a key is pressed on the keyboard.
+	 * keyPressed gets called by GameStateManager when a key is pressed on the keyboard. The key is stored with the time
+	 * it arrived for the simulation, nothing is changed here.
 	 */
-	public void keyPressed(GameContainer container) {
-		Input input = container.getInput();
+	@Override
+	public void keyPressed(int key, char c) {
+		// The overlay only changes what render draws, it does not go through the simulation
+		if (key == Input.KEY_F3) {
+			this.isDebugOverlayShown = !this.isDebugOverlayShown;
+			return;
+		}
+		if (key == Input.KEY_P || this.keyMap.containsKey(key)) {
+			this.inputEvents.offer(key, System.nanoTime());
+		}
+	}
 
+	/**
+	 * Simulate one tick: ghost collisions, pressed keys, pacman, ghosts and dots.
+	 * @return true when pacman lost the last life or ate the last dot
+	 */
+	private boolean tick(int delta) {
+		TickEvent tickEvent = new TickEvent();
+		tickEvent.begin();
+		long tickStartNanos = System.nanoTime();
+		GameMetrics metrics = this.metrics;
+		long allocatedBytesAtStart = metrics != null ? ThreadAllocation.getAllocatedBytes() : 0;
+
+		if (this.shouldDiscardInput) {
+			this.inputEvents.drainUntil(this.inputResetNanos, this.discardKeyHandler);
+			this.shouldDiscardInput = false;
+		}
+		// Keys pressed after this tick started are left for the next one
+		this.inputEvents.drainUntil(tickStartNanos, this.keyHandler);
+		long phaseStartNanos = this.frameTimings.record(FramePhase.INPUT, tickStartNanos);
+
+		// update for pacman, which eats what is on the tile it arrives at
+		this.pacman.update(delta, this.map);
+		this.turnLatency.onPacmanUpdated(
+				this.pacman.getDir(), this.pacman.getNextDir(), System.nanoTime(), this.simulationTick);
+		phaseStartNanos = this.frameTimings.record(FramePhase.PACMAN_UPDATE, phaseStartNanos);
+		int scoreAdded = this.map.update(this.pacman.getRow(), this.pacman.getCol());
+		this.gameInfo.addScore(scoreAdded);
+		phaseStartNanos = this.frameTimings.record(FramePhase.MAP_UPDATE, phaseStartNanos);
+
+		// update for ghosts, they all read the same snapshot of pacman taken after pacman moved
+		PacmanSnapshot pacmanSnapshot = this.pacman.getSnapshot();
+		this.ghostBrainScheduler.runTick(this.ghosts, pacmanSnapshot, this.map);
+		this.ghostUpdatePhase.run(delta, this.ghosts, this.ghostStore, pacmanSnapshot, this.map);
+		phaseStartNanos = this.frameTimings.record(FramePhase.GHOST_UPDATE, phaseStartNanos);
+
+		// collision phase, on where pacman and the ghosts are after this tick
+		this.manageGhostPacmanCollision(this.collisionPhase.run(this.ghostStore, pacmanSnapshot));
+		this.frameTimings.record(FramePhase.COLLISION, phaseStartNanos);
+
+		if (tickEvent.shouldCommit()) {
+			tickEvent.tick = this.simulationTick;
+			tickEvent.delta = delta;
+			tickEvent.level = this.gameInfo.getLevel();
+			tickEvent.ghostCount = this.ghosts.size();
+			tickEvent.contactTestedGhostCount = this.collisionPhase.getTestedGhostCount();
+			tickEvent.commit();
+		}
+		if (metrics != null) {
+			metrics.recordTick(ThreadAllocation.getAllocatedBytes() - allocatedBytesAtStart, this.ghosts.size(),
+					this.gameInfo.getLevel(), this.gameInfo.getScore());
+		}
+
+		return this.gameInfo.getLives() <= 0 || this.map.getCurrentDotCount() <= 0;
+	}
+
+	/**
+	 * Apply a pressed key to pacman.
+	 * @param timeNanos System.nanoTime when the key was pressed
+	 */
+	private void applyKey(int key, long timeNanos) {
 		// toggle between pacman and Arvind animations as easter egg
-		if (input.isKeyPressed(Input.KEY_P)) {
+		if (key == Input.KEY_P) {
 			this.pacman.toggleShouldShowArvind();
 		}
-
-		for (Integer key : keyMap.keySet()) {
-			if (input.isKeyPressed(key)) {
-				this.pacman.setNextDirection(keyMap.get(key));
-			}
+		else {
+			Directions dir = this.keyMap.get(key);
+			this.turnLatency.onTurnRequested(dir, this.pacman.getDir(), timeNanos, this.simulationTick);
+			this.pacman.setNextDirection(dir);
 		}
 	}
 
+	/**
+	 * Getter for the time from direction key presses to pacman turning, in milliseconds
+	 */
+	public DynamicRangeHistogram getTurnLatencyMillis() {
+		return this.turnLatency.getLatencyMillis();
+	}
+
+	/**
+	 * Getter for the time from direction key presses to pacman turning, in ticks
+	 */
+	public DynamicRangeHistogram getTurnLatencyTicks() {
+		return this.turnLatency.getLatencyTicks();
+	}
+
+	/**
+	 * Publish the state at the end of the last tick for render.
+	 */
+	private void publishFrameSnapshot() {
+		this.frameSnapshots.getBackBuffer().capture(
+				this.simulationTick++, this.pacman, this.ghostStore, this.map, this.gameInfo);
+		this.frameSnapshots.publish();
+	}
+
 	/**
 	 * Initiate key map.
 	 */
@@ -164,18 +389,16 @@ public class MainGameState extends BasicGameState {
 	}
 
 	/**
-	 * Load map data from existing map collections.
+	 * Load map data of a level from existing map collections.
 	 */
-	private void pickMapDataFromCollection() {
-		int currentLevel = this.gameInfo.getLevel();
-
+	private MapData pickMapDataFromCollection(int level) {
 		int availableMapCount = MapCollections.getAvailableMapCount();
 
-		if (currentLevel <= availableMapCount) {
-			this.mapData = MapCollections.getMapData(currentLevel - 1);
+		if (level <= availableMapCount) {
+			return MapCollections.getMapData(level - 1);
 		}
 		else {
-			this.mapData = MapCollections.getMapData(availableMapCount - 1);
+			return MapCollections.getMapData(availableMapCount - 1);
 		}
 	}
 
@@ -195,29 +418,44 @@ public class MainGameState extends BasicGameState {
 	/**
 	 * Find the x for origin of the map for it to be displayed at the center of the screen using 70% of the width
 	 */
-	private float getMapOriginX() {
-		return (this.gameWindowWidth - mapData.mapArray[0].length * this.elementPixelUnit) / 2;
+	private float getMapOriginX(MapData mapData, float elementPixelUnit) {
+		return (this.gameWindowWidth - mapData.getColCount() * elementPixelUnit) / 2;
 	}
 
 	/**
 	 * Find the y for origin of the map for it to be displayed at the center of the screen using 70% of the height
 	 */
-	private float getMapOriginY() {
-		return (this.gameWindowHeight - mapData.mapArray.length * this.elementPixelUnit) / 2;
+	private float getMapOriginY(MapData mapData, float elementPixelUnit) {
+		return (this.gameWindowHeight - mapData.getRowCount() * elementPixelUnit) / 2;
 	}
 
 	/**
-	 * Manage the scenario where ghost run into the pacman
+	 * Getter for the number of ghosts close enough to pacman to ask their brain at every junction in the last tick
 	 */
-	private void manageGhostPacmanCollision() {
-		boolean isPacmanKilled = false;
-		for (Ghost ghost : this.ghosts) {
-			if (ghost.getIsCollidingWithPacman()) {
-				isPacmanKilled = true;
-				break;
-			}
-		}
+	public int getFullDetailGhostCount() {
+		return this.ghostUpdatePhase.getFullDetailGhostCount();
+	}
 
+	/**
+	 * Getter for the number of ghosts close enough to pacman to be tested for contact in the last tick
+	 */
+	public int getContactTestedGhostCount() {
+		return this.collisionPhase.getTestedGhostCount();
+	}
+
+	/**
+	 * Check if a character drawn at x, y is at least partly inside the game window
+	 */
+	private boolean getIsOnScreen(float x, float y) {
+		return x > -this.elementPixelUnit && x < this.gameWindowWidth
+				&& y > -this.elementPixelUnit && y < this.gameWindowHeight;
+	}
+
+	/**
+	 * Manage the scenario where ghost run into the pacman
+	 * @param isPacmanKilled if a ghost touched pacman in this tick
+	 */
+	private void manageGhostPacmanCollision(boolean isPacmanKilled) {
 		if (isPacmanKilled) {
 			this.gameInfo.setLives(this.gameInfo.getLives() - 1);
 			this.pacman.reset();
@@ -232,46 +470,76 @@ public class MainGameState extends BasicGameState {
 	 * Go to the next level
 	 */
 	private void levelUp() {
+		LevelUpEvent levelUpEvent = new LevelUpEvent();
+		levelUpEvent.begin();
 		this.gameInfo.setLevel(this.gameInfo.getLevel() + 1);
 		this.setupMapGhostsPacmanObjects(true);
+		levelUpEvent.level = this.gameInfo.getLevel();
+		levelUpEvent.ghostCount = this.ghosts.size();
+		levelUpEvent.dotCount = this.map.getCurrentDotCount();
+		levelUpEvent.commit();
 	}
 
 	/**
-	 * Initiate objects for map, ghosts and pacman
+	 * Initiate objects for map, ghosts and pacman, taking the level prepared in the background when there is one
 	 */
 	private void setupMapGhostsPacmanObjects(boolean isLevelUpOrFullReset) {
-		this.pickMapDataFromCollection();
-		this.elementPixelUnit = this.getElementPixelUnit(
-				mapData.mapArray[0].length,
-				mapData.mapArray.length,
+		// Nothing plays the current level any more, the simulation waits for the game flow change
+		if (this.currentLevel != null) {
+			this.recycleLevel(this.currentLevel);
+		}
+		GameLevel level = this.levelPreparer.take(this.gameInfo.getLevel());
+		this.currentLevel = level;
+		this.mapData = level.getMapData();
+		this.elementPixelUnit = level.getElementPixelUnit();
+		this.map = level.getMap();
+		this.pacman = level.getPacman();
+		this.ghostStore = level.getGhostStore();
+		this.ghosts = level.getGhosts();
+		this.turnLatency.cancel();
+
+		if (isLevelUpOrFullReset) {
+			this.initMapGhostsPacman();
+		}
+		this.levelPreparer.prepare(this.gameInfo.getLevel() + 1);
+	}
+
+	/**
+	 * Build the map, ghosts and pacman of a level, reusing the objects of a level no longer played when there is one.
+	 * Nothing here needs the game window, so it runs on the LevelPreparer thread.
+	 */
+	private GameLevel createLevel(int levelNumber) {
+		MapData mapData = this.pickMapDataFromCollection(levelNumber);
+		float elementPixelUnit = this.getElementPixelUnit(
+				mapData.getColCount(),
+				mapData.getRowCount(),
 				gameWindowWidth,
 				gameWindowHeight);
 
-		this.map = new Map(mapData, elementPixelUnit, this.getMapOriginX(), this.getMapOriginY(), isDebug);
-
-		RowColTuple[] ghostsOnMap = this.mapData.ghostRowColTuples;
-		this.ghosts = new ArrayList<>();
-		for (int i = 0; i < ghostsOnMap.length; i++) {
-			this.ghosts.add(
-					new Ghost(
-							this.map.getXFromColNumber(ghostsOnMap[i].col),
-							this.map.getYFromRowNumber(ghostsOnMap[i].row),
-							this.elementPixelUnit,
-							isDebug,
-							i
-					)
-			);
+		GameLevel level = this.spareLevels.poll();
+		if (level == null) {
+			level = new GameLevel(isDebug);
 		}
+		level.reset(mapData, elementPixelUnit, this.getMapOriginX(mapData, elementPixelUnit),
+				this.getMapOriginY(mapData, elementPixelUnit));
+		level.getPacman().setPreTurnWindow(this.preTurnWindow);
+		return level;
+	}
 
-		this.pacman = new Pacman(
-				this.map.getXFromColNumber(this.mapData.pacmanRowColTuple.col),
-				this.map.getYFromRowNumber(this.mapData.pacmanRowColTuple.row),
-				elementPixelUnit,
-				isDebug);
+	/**
+	 * Keep the objects of a level no longer played for a later level.
+	 */
+	private void recycleLevel(GameLevel level) {
+		this.spareLevels.offer(level);
+	}
 
-		if (isLevelUpOrFullReset) {
-			this.initMapGhostsPacman();
-		}
+	/**
+	 * Initiate map, ghosts and pacman of the first level and publish its first snapshot. Without the game window, the
+	 * images have to be set beforehand, and the HUD is drawn with the font.
+	 */
+	void initLevel() {
+		this.initMapGhostsPacman();
+		this.publishFrameSnapshot();
 	}
 
 	/**
@@ -287,7 +555,17 @@ public class MainGameState extends BasicGameState {
 	 * Reset the entire game
 	 */
 	private void fullGameReset() {
+		FullResetEvent fullResetEvent = new FullResetEvent();
+		fullResetEvent.begin();
+		fullResetEvent.previousLevel = this.gameInfo.getLevel();
+		fullResetEvent.previousScore = this.gameInfo.getScore();
+		// Keys pressed before the reset are not meant for the new game. They are thrown away by the simulation, which
+		// is waiting for the game flow change now, as only it may take keys out of inputEvents.
+		this.inputResetNanos = System.nanoTime();
+		this.shouldDiscardInput = true;
 		this.gameInfo.reset();
 		this.setupMapGhostsPacmanObjects(true);
+		fullResetEvent.ghostCount = this.ghosts.size();
+		fullResetEvent.commit();
 	}
 }
@@ -29,24 +29,29 @@ public class Map {
 	private float mapOriginX;
 	private float mapOriginY;
 	
-	// Details of the map to render
+	// Details of the map to render. The map data is shared with every other Map of the same map and never changes,
+	// eaten dots and fruits are only cleared in the dot layer of this Map.
 	private MapData mapData;
-	private char[][] mapArray;
+	private DotLayer dotLayer;
 
 	/**
-	 * Getter for wallShape
+	 * Getter for wallShape, one rectangle per rectangle of the wall mesh
 	 */
-	public ArrayList<Shape> getWallShapes() {
+	public ArrayList<Rectangle> getWallShapes() {
 		return wallShapes;
 	}
 
-	private ArrayList<Shape> wallShapes = new ArrayList<>();
+	private ArrayList<Rectangle> wallShapes = new ArrayList<>();
 
-	private int currentDotCount;
-	
-	private Image wallElementImage;
-	private Image fruitImage;
-	private Image dotImage;
+	// Wall tiles merged into rectangles, used for drawing the walls and the debug wall shapes.
+	private WallMesh wallMesh;
+
+	private HierarchicalPathfinder pathfinder;
+
+	// Shared by all maps and loaded once on the render thread, so a map can be built on any thread.
+	private static Image wallElementImage;
+	private static Image fruitImage;
+	private static Image dotImage;
 	
 	/**
 	 * Constructor
@@ -60,60 +65,88 @@ public class Map {
 		this.mapOriginX = mapOriginX;
 		this.mapOriginY = mapOriginY;
 
-		this.cloneMapArray(this.mapData.mapArray);
-		this.mapDataRowCount = this.mapArray.length;
-		this.mapDataColCount = this.mapArray[0].length;
+		this.mapDataRowCount = this.mapData.getRowCount();
+		this.mapDataColCount = this.mapData.getColCount();
+		this.dotLayer = new DotLayer(this.mapData);
+	}
+
+	/**
+	 * This method puts the map back to the start of a level on the given map data, reusing the dot layer and wall
+	 * shapes of this map. The wall shapes and pathfinder are built again by initNavigation.
+	 */
+	public void reset(MapData mapData, float elementPixelUnit, float mapOriginX, float mapOriginY) {
+		this.mapData = mapData;
+
+		this.elementPixelUnit = elementPixelUnit;
+		this.mapOriginX = mapOriginX;
+		this.mapOriginY = mapOriginY;
+
+		this.mapDataRowCount = this.mapData.getRowCount();
+		this.mapDataColCount = this.mapData.getColCount();
+		this.dotLayer.reset(this.mapData);
+		this.wallMesh = null;
+		this.pathfinder = null;
+		this.isFirstRender = true;
 	}
 	
 	/**
 	 * init method here gets called in the init method in MainGameState class.
-	 * It initiates the display of the map and dots.
+	 * It loads the images of the walls and dots the first time a map is displayed. The wall shapes and pathfinder
+	 * are built by initNavigation.
 	 */
 	public void init() {
+		if (wallElementImage != null) {
+			return;
+		}
+		AssetLoadEvent assetLoad = new AssetLoadEvent("Map");
+		assetLoad.begin();
 		try {
-			this.wallElementImage = new Image("images/wallElement.jpg");
-			this.fruitImage = new Image("images/cherry.png");
-			this.dotImage = new Image("images/dot.png");
+			wallElementImage = assetLoad.add(new Image("images/wallElement.jpg"));
+			fruitImage = assetLoad.add(new Image("images/cherry.png"));
+			dotImage = assetLoad.add(new Image("images/dot.png"));
 		} catch (SlickException e) {
 			System.out.println("WallElement image cannot be found.");
 		}
+		assetLoad.commit();
+	}
+
+	/**
+	 * This method sets the images of the walls, fruits and dots instead of loading them, so maps can be drawn
+	 * without a display.
+	 */
+	static void setImages(Image wallElement, Image fruit, Image dot) {
+		wallElementImage = wallElement;
+		fruitImage = fruit;
+		dotImage = dot;
+	}
+
+	/**
+	 * This method builds the wall shapes and takes the wall mesh and pathfinder shared by all games on this map, used
+	 * to move characters on the map. It does not load any image, so it can run without the game window.
+	 */
+	public void initNavigation() {
 		this.createWallShapes();
-		this.currentDotCount = this.countMapDots();
+		this.pathfinder = this.mapData.getPathfinder();
 	}
 
 	/**
 	 * update method here gets called in the update method in MainGameState class.
-	 * It updates the positions of the dots on the map as well as the count of the remaining dots.
+	 * It removes the dot or fruit on the tile pacman is closest to and updates the count of the remaining dots.
+	 * @return the score for what pacman ate
 	 */
-	public int update(float pacmanX, float pacmanY) {
-		int rowNum = -1;
-		int colNum = -1;
-		for (int i = 0; i < this.mapDataRowCount; i++) {
-			float y = this.getYFromRowNumber(i);
-			if (Math.abs(y - pacmanY) < 5) {
-				rowNum = i;
-			}
-		}
-		for (int j = 0; j < this.mapDataColCount; j++) {
-			float x = this.getXFromColNumber(j);
-			if (Math.abs(x - pacmanX) < 5) {
-				colNum = j;
-			}
-		}
-		if (rowNum == -1 || colNum == -1) {
+	public int update(int pacmanRow, int pacmanCol) {
+		if (pacmanRow < 0 || pacmanRow >= this.mapDataRowCount || pacmanCol < 0 || pacmanCol >= this.mapDataColCount) {
 			return 0;
 		}
-		if (this.mapArray[rowNum][colNum] == '.') {
-			this.mapArray[rowNum][colNum] = ' ';
+		if (this.dotLayer.getIsDot(pacmanRow, pacmanCol)) {
+			this.dotLayer.clear(pacmanRow, pacmanCol);
 			return 10;
 		}
-		if (this.mapArray[rowNum][colNum] == '*') {
-			this.mapArray[rowNum][colNum] = ' ';
+		if (this.dotLayer.getIsFruit(pacmanRow, pacmanCol)) {
+			this.dotLayer.clear(pacmanRow, pacmanCol);
 			return 100;
 		}
 
-		this.currentDotCount = this.countMapDots();
-
 		return 0;
 	}
 	
@@ -121,11 +154,12 @@ public class Map {
 	 * render method here gets called in the render method in MainGameState class, which gets
 	 * executed after update method in every frame.
 	 * It renders the updated map based on the updated data (mainly updated location of dots).
+	 * @param dots dot layer to draw the dots and fruits of, usually from a FrameSnapshot
 	 */
-	public void render(Graphics g) {
-		this.drawWalls();
-		this.drawWallElementRectangulars(g);
-		this.drawDotsAndFruits();
+	public void render(Graphics g, DotLayer dots, RenderCounters renderCounters) {
+		this.drawWalls(renderCounters);
+		this.drawWallElementRectangulars(g, renderCounters);
+		this.drawDotsAndFruits(dots, renderCounters);
 
 		this.isFirstRender = false;
 	}
@@ -145,157 +179,164 @@ public class Map {
 	}
 
 	/**
-	 * The method can find the closet walls for a given position.
+	 * This method converts an x position in TileUnits to the x pixel coordinate to draw at.
 	 */
-	public ArrayList<Shape> getCloseByWallShapes(float x, float y) {
-		// Get wallShapes that are within 1.5 * elementPixelUnit for both x an dy because collision could only happen
-		// with shapes nearby
-		ArrayList<Shape> closeByWallShapes = new ArrayList<>(this.wallShapes);
-		closeByWallShapes.removeIf(
-				s ->
-						(Math.abs(s.getX() - x) > 1.5 * this.elementPixelUnit) ||
-								(Math.abs(s.getY() - y) > 1.5 * this.elementPixelUnit)
-		);
-
-		return closeByWallShapes;
+	public float getXFromPosition(int x) {
+		return this.elementPixelUnit * x / TileUnits.tileSize + this.mapOriginX;
 	}
 
 	/**
-	 * This method provides x value for repositioning a character to its closest 
-	 * non-collision position on the map.
+	 * This method converts a y position in TileUnits to the y pixel coordinate to draw at.
 	 */
-	public float getClosestNonCollisionX(float currentX) {
-		int closestColNumber = this.getClosestCol(currentX);
-
-		return this.getXFromColNumber(closestColNumber);
+	public float getYFromPosition(int y) {
+		return this.elementPixelUnit * y / TileUnits.tileSize + this.mapOriginY;
 	}
 
 	/**
-	 * This method provides y value for repositioning a character to its closest 
-	 * non-collision position on the map.
+	 * Getter for wallMesh, which is built in initNavigation
 	 */
-	public float getClosestNonCollisionY(float currentY) {
-		int closestRowNumber = this.getClosestRow(currentY);
-
-		return this.getYFromRowNumber(closestRowNumber);
+	public WallMesh getWallMesh() {
+		return this.wallMesh;
 	}
 
 	/**
-	 * Getter for currentDotCount
+	 * Getter for pathfinder, which is built in initNavigation
 	 */
-	public int getCurrentDotCount() {
-		return this.currentDotCount;
+	public HierarchicalPathfinder getPathfinder() {
+		return this.pathfinder;
 	}
 
 	/**
-	 * Counts the number of dots on the map to be used for calculating score.
+	 * This method returns the bit mask of directions that lead from the given tile to a tile that is not a wall.
+	 * Tiles outside of the map have no open direction.
 	 */
-	private int countMapDots() {
-		int dotCount = 0;
-		for (int r = 0; r < this.mapDataRowCount; r++) {
-			for (int c = 0; c < this.mapDataColCount; c++) {
-				if (this.mapArray[r][c] == '.') {
-					dotCount++;
-				}
-			}
+	public int getOpenDirectionMask(int row, int col) {
+		if (row < 0 || row >= this.mapDataRowCount || col < 0 || col >= this.mapDataColCount) {
+			return 0;
 		}
-
-		return dotCount;
+		return this.mapData.getOpenDirectionMask(row, col);
 	}
 
 	/**
-	 * Method to draw wall rectangulars in the graph.
+	 * This method returns the bit used for the given direction in the masks returned by getOpenDirectionMask.
 	 */
-	private void drawWallElementRectangulars(Graphics g) {
-		for (int r = 0; r < this.mapDataRowCount; r++) {
-			for (int c = 0; c < this.mapDataColCount; c++) {
-				float x = this.getXFromColNumber(c);
-				float y = this.getYFromRowNumber(r);
-				if (this.isDebug) {
-					Rectangle currentWallElementRec = new Rectangle(x, y, this.elementPixelUnit, this.elementPixelUnit);
-					g.draw(currentWallElementRec);
-				}
-			}
+	public static int getDirectionBit(Directions dir) {
+		switch (dir) {
+			case UP:
+				return MapData.upBit;
+			case DOWN:
+				return MapData.downBit;
+			case LEFT:
+				return MapData.leftBit;
+			case RIGHT:
+				return MapData.rightBit;
+			default:
+				return 0;
 		}
+	}
 
+	/**
+	 * Getter for the dots and fruits left on the map
+	 */
+	public DotLayer getDotLayer() {
+		return this.dotLayer;
 	}
 
 	/**
-	 * Method to draw walls in the graph.
+	 * Getter for the number of dots left on the map
 	 */
-	private void drawWalls() {
-		for (int r = 0; r < this.mapDataRowCount; r++) {
-			for (int c = 0; c < this.mapDataColCount; c++) {
-				char elementSymbol = this.mapArray[r][c];
-				float x = this.getXFromColNumber(c);
-				float y = this.getYFromRowNumber(r);
-				if (elementSymbol == '#') { // wall
-					Rectangle currentWallElementRec = new Rectangle(x, y, this.elementPixelUnit, this.elementPixelUnit);
-					if (!this.isDebug) {
-						this.wallElementImage.draw(x, y, this.elementPixelUnit, this.elementPixelUnit);
-					}
-				}
-			}
-		}
+	public int getCurrentDotCount() {
+		return this.dotLayer.getDotCount();
 	}
 
 	/**
-	 * Method to create walls in the graph.
+	 * Method to draw wall rectangulars in the graph.
 	 */
-	private void createWallShapes() {
-		for (int r = 0; r < this.mapDataRowCount; r++) {
-			for (int c = 0; c < this.mapDataColCount; c++) {
-				char elementSymbol = this.mapArray[r][c];
-				float x = this.getXFromColNumber(c);
-				float y = this.getYFromRowNumber(r);
-				if (elementSymbol == '#') { // wall
-					Rectangle currentWallElementRec = new Rectangle(x, y, this.elementPixelUnit, this.elementPixelUnit);
-					this.wallShapes.add(currentWallElementRec);
-				}
+	private void drawWallElementRectangulars(Graphics g, RenderCounters renderCounters) {
+		if (this.isDebug) {
+			for (Shape wallShape : this.wallShapes) {
+				g.draw(wallShape);
+				renderCounters.countShape(RenderComponent.MAP);
 			}
 		}
 	}
 
 	/**
-	 * Draw dots and fruits in the graph.
+	 * Method to draw walls in the graph.
 	 */
-	private void drawDotsAndFruits() {
-		for (int r = 0; r < this.mapDataRowCount; r++) {
-			for (int c = 0; c < this.mapDataColCount; c++) {
-				char elementSymbol = this.mapArray[r][c];
-				float x = this.getXFromColNumber(c);
-				float y = this.getYFromRowNumber(r);
-				if (elementSymbol == '.') { // dots
-					this.dotImage.draw(x, y, this.elementPixelUnit, this.elementPixelUnit);
-				}
-				if (elementSymbol == '*') { // bonus fruit
-					this.fruitImage.draw(x, y, this.elementPixelUnit, this.elementPixelUnit);
-				}
-			}
+	private void drawWalls(RenderCounters renderCounters) {
+		if (this.isDebug) {
+			return;
+		}
+		// The wall image is a plain color, so one stretched draw per rectangle looks the same as one per tile.
+		for (int i = 0; i < this.wallMesh.getRectangleCount(); i++) {
+			wallElementImage.draw(
+					this.getXFromColNumber(this.wallMesh.getCol(i)),
+					this.getYFromRowNumber(this.wallMesh.getRow(i)),
+					this.elementPixelUnit * this.wallMesh.getColCount(i),
+					this.elementPixelUnit * this.wallMesh.getRowCount(i));
+			renderCounters.countDraw(RenderComponent.MAP, wallElementImage);
 		}
 	}
 
 	/**
-	 * Return the closet column number for a given x-coordinate
+	 * Method to create walls in the graph, one shape per rectangle of the wall mesh. The shapes of the previous level
+	 * are moved instead of created again.
 	 */
-	private int getClosestCol(float currentX) {
-		return Math.round((currentX - this.mapOriginX) / this.elementPixelUnit);
+	private void createWallShapes() {
+		this.wallMesh = this.mapData.getWallMesh();
+		int rectangleCount = this.wallMesh.getRectangleCount();
+		if (this.wallShapes.size() > rectangleCount) {
+			this.wallShapes.subList(rectangleCount, this.wallShapes.size()).clear();
+		}
+		for (int i = 0; i < rectangleCount; i++) {
+			float x = this.getXFromColNumber(this.wallMesh.getCol(i));
+			float y = this.getYFromRowNumber(this.wallMesh.getRow(i));
+			float width = this.elementPixelUnit * this.wallMesh.getColCount(i);
+			float height = this.elementPixelUnit * this.wallMesh.getRowCount(i);
+			if (i < this.wallShapes.size()) {
+				this.wallShapes.get(i).setBounds(x, y, width, height);
+			}
+			else {
+				this.wallShapes.add(new Rectangle(x, y, width, height));
+			}
+		}
 	}
 
 	/**
-	 * Return the closet row number for a given y-coordinate
+	 * Draw dots and fruits in the graph.
 	 */
-	private int getClosestRow(float currentY) {
-		return Math.round((currentY - this.mapOriginY) / this.elementPixelUnit);
+	private void drawDotsAndFruits(DotLayer dots, RenderCounters renderCounters) {
+		this.drawTileBatch(dots, false, dotImage, renderCounters);
+		this.drawTileBatch(dots, true, fruitImage, renderCounters);
 	}
 
 	/**
-	 * Make a clone for the map array
+	 * Draw the image on every tile with a dot, or with a fruit, as one batch of quads between startUse and endUse, so
+	 * the texture is bound once and only the tiles with something on them are visited.
 	 */
-	private void cloneMapArray(char[][] mapArray) {
-		this.mapArray = new char[mapArray.length][];
-		for (int i = 0; i < mapArray.length; i++) {
-			this.mapArray[i] = mapArray[i].clone();
+	private void drawTileBatch(DotLayer dots, boolean isFruit, Image image, RenderCounters renderCounters) {
+		boolean isStarted = false;
+		int colCount = dots.getColCount();
+		for (int w = 0; w < dots.getWordCount(); w++) {
+			long bits = isFruit ? dots.getFruitWord(w) : dots.getDotWord(w);
+			while (bits != 0) {
+				if (!isStarted) {
+					image.startUse();
+					renderCounters.countDraw(RenderComponent.MAP, image);
+					isStarted = true;
+				}
+				int index = (w << 6) + Long.numberOfTrailingZeros(bits);
+				bits &= bits - 1;
+				image.drawEmbedded(
+						this.getXFromColNumber(index % colCount),
+						this.getYFromRowNumber(index / colCount),
+						this.elementPixelUnit,
+						this.elementPixelUnit);
+			}
+		}
+		if (isStarted) {
+			image.endUse();
 		}
 	}
 }
@@ -1,4 +1,7 @@
 
+import java.util.ArrayDeque;
+import java.util.Random;
+
 public class MapCollections {
 	private static char[][][] mapsArray = {
 			{
@@ -96,13 +99,94 @@ public class MapCollections {
 		return mapsArray.length;
 	}
 
+	// Map data is immutable, so every game shares the same instance of each map
+	private static final MapData[] mapDataArray = createMapDataArray();
+
 	/**
 	 * Get the entire map data.
 	 */
 	public static MapData getMapData(int index) {
-		return new MapData(
-				pacmanRowColTupleArray[index],
-				ghostRowColTuplesArrary[index],
-				mapsArray[index]);
+		return mapDataArray[index];
+	}
+
+	/**
+	 * Create the map data of every map.
+	 */
+	private static MapData[] createMapDataArray() {
+		MapData[] mapDataArray = new MapData[mapsArray.length];
+		for (int i = 0; i < mapsArray.length; i++) {
+			mapDataArray[i] = new MapData(pacmanRowColTupleArray[i], ghostRowColTuplesArrary[i], mapsArray[i]);
+		}
+		return mapDataArray;
+	}
+
+	/**
+	 * Generate a maze of the given size for stress maps and benchmarks. The maze is carved with a randomized
+	 * depth-first search on odd rows/columns, then some extra walls are knocked down so that it has loops like the
+	 * hand made maps. Every open tile holds a dot. Pacman starts at the top left corner and ghosts are placed on
+	 * random open tiles.
+	 * @param rowCount number of rows, at least 5
+	 * @param colCount number of columns, at least 5
+	 * @param ghostCount number of ghosts placed on the maze
+	 * @param seed seed of the random generator so that the same maze can be generated again
+	 */
+	public static MapData generateMapData(int rowCount, int colCount, int ghostCount, long seed) {
+		Random random = new Random(seed);
+		PackedTileGrid tiles = new PackedTileGrid(rowCount, colCount);
+		for (int r = 0; r < rowCount; r++) {
+			tiles.fillRow(r, PackedTileGrid.wall);
+		}
+
+		// Carve from (1, 1) over the cells with odd row and column numbers.
+		int[] rowSteps = {-2, 2, 0, 0};
+		int[] colSteps = {0, 0, -2, 2};
+		ArrayDeque<int[]> stack = new ArrayDeque<>();
+		tiles.setTile(1, 1, PackedTileGrid.dot);
+		stack.push(new int[]{1, 1});
+		while (!stack.isEmpty()) {
+			int[] cell = stack.peek();
+			int firstStep = random.nextInt(4);
+			boolean hasCarved = false;
+			for (int i = 0; i < 4; i++) {
+				int step = (firstStep + i) % 4;
+				int nextRow = cell[0] + rowSteps[step];
+				int nextCol = cell[1] + colSteps[step];
+				if (nextRow > 0 && nextRow < rowCount - 1 && nextCol > 0 && nextCol < colCount - 1
+						&& tiles.getIsWall(nextRow, nextCol)) {
+					tiles.setTile(cell[0] + rowSteps[step] / 2, cell[1] + colSteps[step] / 2, PackedTileGrid.dot);
+					tiles.setTile(nextRow, nextCol, PackedTileGrid.dot);
+					stack.push(new int[]{nextRow, nextCol});
+					hasCarved = true;
+					break;
+				}
+			}
+			if (!hasCarved) {
+				stack.pop();
+			}
+		}
+
+		// Knock down about one in ten of the inner walls that separate two open tiles to create loops.
+		for (int r = 1; r < rowCount - 1; r++) {
+			for (int c = 1; c < colCount - 1; c++) {
+				boolean separatesRow = !tiles.getIsWall(r, c - 1) && !tiles.getIsWall(r, c + 1);
+				boolean separatesCol = !tiles.getIsWall(r - 1, c) && !tiles.getIsWall(r + 1, c);
+				if (tiles.getIsWall(r, c) && (separatesRow || separatesCol) && random.nextInt(10) == 0) {
+					tiles.setTile(r, c, PackedTileGrid.dot);
+				}
+			}
+		}
+
+		RowColTuple[] ghostRowColTuples = new RowColTuple[ghostCount];
+		for (int i = 0; i < ghostCount; i++) {
+			int r;
+			int c;
+			do {
+				r = 1 + random.nextInt(rowCount - 2);
+				c = 1 + random.nextInt(colCount - 2);
+			} while (tiles.getIsWall(r, c) || (r == 1 && c == 1));
+			ghostRowColTuples[i] = new RowColTuple(r, c);
+		}
+
+		return new MapData(new RowColTuple(1, 1), ghostRowColTuples, tiles);
 	}
 }
@@ -1,23 +1,159 @@
 /**
- * MapData class defines the structure of each map saved in the game
+ * MapData class defines the structure of each map saved in the game. It is immutable, so the maps of MapCollections
+ * are shared by every game in the process. What changes while a map is played, the dots and fruits eaten, lives in
+ * the DotLayer of each Map. The wall mesh and pathfinder derived from the tiles are built once, on first use, and
+ * shared as well. Open directions are read from the packed tiles when asked for, so a large map costs no more than
+ * its tiles.
  */
 public class MapData {
+	// Bits of getOpenDirectionMask
+	public static final int upBit = 1;
+	public static final int downBit = 2;
+	public static final int leftBit = 4;
+	public static final int rightBit = 8;
+
 	// Row and Column number (0-indexed) on a map where pacman start position is.
 	// You can use getXFromColNumber and getYFromRowNumber in Map class to convert
 	// row and column numbers to x, y coordinate on the rendered map.
-	public RowColTuple pacmanRowColTuple;
+	private final RowColTuple pacmanRowColTuple;
+
+	private final RowColTuple[] ghostRowColTuples;
+
+	private final int rowCount;
+	private final int colCount;
+	private final PackedTileGrid tiles;
 
-	public RowColTuple[] ghostRowColTuples;
+	// Built on first use
+	private WallMesh wallMesh;
+	private HierarchicalPathfinder pathfinder;
 
-	public char[][] mapArray;
-	
+	/**
+	 * Constructor. The arrays are copied, so changing them afterwards does not change the map.
+	 */
 	public MapData(
 			RowColTuple pacmanRowColTuple,
 			RowColTuple[] ghostRowColTuples,
 			char[][] mapArray
 			) {
+		this(pacmanRowColTuple, ghostRowColTuples, new PackedTileGrid(mapArray));
+	}
+
+	/**
+	 * Constructor. The tiles are copied, so changing them afterwards does not change the map.
+	 */
+	public MapData(
+			RowColTuple pacmanRowColTuple,
+			RowColTuple[] ghostRowColTuples,
+			PackedTileGrid tiles
+			) {
 		this.pacmanRowColTuple = pacmanRowColTuple;
-		this.ghostRowColTuples = ghostRowColTuples;
-		this.mapArray = mapArray;
+		this.ghostRowColTuples = ghostRowColTuples.clone();
+		this.rowCount = tiles.getRowCount();
+		this.colCount = tiles.getColCount();
+		this.tiles = new PackedTileGrid(tiles);
+	}
+
+	/**
+	 * Getter for pacmanRowColTuple
+	 */
+	public RowColTuple getPacmanRowColTuple() {
+		return this.pacmanRowColTuple;
+	}
+
+	/**
+	 * Getter for the number of ghosts on the map
+	 */
+	public int getGhostCount() {
+		return this.ghostRowColTuples.length;
+	}
+
+	/**
+	 * Getter for the start tile of a ghost
+	 */
+	public RowColTuple getGhostRowColTuple(int index) {
+		return this.ghostRowColTuples[index];
+	}
+
+	/**
+	 * Getter for rowCount
+	 */
+	public int getRowCount() {
+		return this.rowCount;
+	}
+
+	/**
+	 * Getter for colCount
+	 */
+	public int getColCount() {
+		return this.colCount;
+	}
+
+	/**
+	 * This method returns the symbol of a tile: '#' for a wall, '.' for a dot, '*' for a fruit and ' ' for empty.
+	 */
+	public char getTile(int row, int col) {
+		return PackedTileGrid.getSymbol(this.tiles.getTile(row, col));
+	}
+
+	/**
+	 * This method returns if a tile is a wall.
+	 */
+	public boolean getIsWall(int row, int col) {
+		return this.tiles.getIsWall(row, col);
+	}
+
+	/**
+	 * This method returns the first column from fromCol on whose tile is of the given PackedTileGrid kind, or -1 when
+	 * the rest of the row has none.
+	 */
+	public int findTileInRow(int row, int fromCol, int tile) {
+		return this.tiles.findInRow(row, fromCol, tile);
+	}
+
+	/**
+	 * This method returns the number of tiles of the given PackedTileGrid kind in a row.
+	 */
+	public int countTilesInRow(int row, int tile) {
+		return this.tiles.countInRow(row, tile);
+	}
+
+	/**
+	 * Getter for the wall tiles merged into rectangles
+	 */
+	public synchronized WallMesh getWallMesh() {
+		if (this.wallMesh == null) {
+			this.wallMesh = new WallMesh(this);
+		}
+		return this.wallMesh;
+	}
+
+	/**
+	 * Getter for the pathfinder of the map, which can be queried from several threads at once
+	 */
+	public synchronized HierarchicalPathfinder getPathfinder() {
+		if (this.pathfinder == null) {
+			this.pathfinder = new HierarchicalPathfinder(this, HierarchicalPathfinder.defaultClusterSize);
+		}
+		return this.pathfinder;
+	}
+
+	/**
+	 * This method returns the bit mask of directions that lead from the given tile to a tile that is not a wall.
+	 */
+	public int getOpenDirectionMask(int row, int col) {
+		int mask = 0;
+		if (row > 0 && !this.tiles.getIsWall(row - 1, col)) {
+			mask |= upBit;
+		}
+		if (row < this.rowCount - 1 && !this.tiles.getIsWall(row + 1, col)) {
+			mask |= downBit;
+		}
+		if (col > 0 && !this.tiles.getIsWall(row, col - 1)) {
+			mask |= leftBit;
+		}
+		if (col < this.colCount - 1 && !this.tiles.getIsWall(row, col + 1)) {
+			mask |= rightBit;
+		}
+		return mask;
 	}
 }
@@ -7,7 +7,7 @@ class MapTest {
 
     @Test
     void update() {
-        assertEquals(map.update(212, 90), 100);
+        assertEquals(map.update(1, 1), 100);
     }
 
 
@@ -23,13 +23,46 @@ class MapTest {
 
 
     @Test
-    void getClosestNonCollisionX() {
-        assertEquals(map.getClosestNonCollisionX(212.1f), 212);
+    void getXFromPosition() {
+        assertEquals(map.getXFromPosition(TileUnits.fromTile(1)), 212);
     }
 
     @Test
-    void getClosestNonCollisionY() {
-        assertEquals(map.getClosestNonCollisionX(85), 80);
+    void getYFromPosition() {
+        assertEquals(map.getYFromPosition(TileUnits.fromTile(1) + TileUnits.tileSize / 2), 100);
+    }
+
+    @Test
+    void shareMapDataBetweenMaps() {
+        Map otherMap = new Map(mapData, 22, 190, 67, false);
+        map.initNavigation();
+        otherMap.initNavigation();
+        map.update(1, 2);
+        assertFalse(map.getDotLayer().getIsDot(1, 2));
+        assertTrue(otherMap.getDotLayer().getIsDot(1, 2));
+        assertEquals(mapData.getTile(1, 2), '.');
+        assertSame(map.getWallMesh(), otherMap.getWallMesh());
+        assertSame(map.getPathfinder(), otherMap.getPathfinder());
+    }
+
+    @Test
+    void copyMapArrayOnConstruction() {
+        char[][] mapArray = {"#.#".toCharArray(), "#*#".toCharArray()};
+        MapData copiedMapData = new MapData(new RowColTuple(0, 1), new RowColTuple[0], mapArray);
+        mapArray[0][1] = '#';
+        assertEquals(copiedMapData.getTile(0, 1), '.');
+    }
+
+    @Test
+    void getOpenDirectionMask() {
+        char[][] mapArray = {"#.#".toCharArray(), "...".toCharArray(), "#.#".toCharArray()};
+        MapData crossMapData = new MapData(new RowColTuple(1, 1), new RowColTuple[0], mapArray);
+        Map crossMap = new Map(crossMapData, 22, 0, 0, false);
+        assertEquals(crossMap.getOpenDirectionMask(1, 1),
+                MapData.upBit | MapData.downBit | MapData.leftBit | MapData.rightBit);
+        assertEquals(crossMap.getOpenDirectionMask(0, 1), MapData.downBit);
+        assertEquals(crossMap.getOpenDirectionMask(1, 0), MapData.rightBit);
+        assertEquals(crossMap.getOpenDirectionMask(3, 1), 0);
     }
 
 
@@ -0,0 +1,166 @@
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * MetricsServer serves GameMetrics and JVM garbage collection totals in the Prometheus text format at /metrics on
+ * localhost. It is started by GameStateManager only when the game runs with -Dpacman.metricsPort=PORT. Every scrape
+ * reads the lock-free counters and histograms the game keeps, it never waits for the game loop.
+ */
+public class MetricsServer {
+	public static final String portProperty = "pacman.metricsPort";
+
+	private static final double[] quantiles = {0.5, 0.99};
+
+	private final GameMetrics metrics;
+	private HttpServer server;
+	private ExecutorService executor;
+
+	public MetricsServer(GameMetrics metrics) {
+		this.metrics = metrics;
+	}
+
+	/**
+	 * This method starts serving on the loopback address.
+	 * @param port port to listen on, 0 for any free port
+	 */
+	public void start(int port) throws IOException {
+		this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+		this.server.createContext("/metrics", exchange -> {
+			byte[] body = this.render().getBytes(StandardCharsets.UTF_8);
+			exchange.getResponseHeaders().set("Content-Type", "text/plain; version=0.0.4; charset=utf-8");
+			exchange.sendResponseHeaders(200, body.length);
+			try (OutputStream responseBody = exchange.getResponseBody()) {
+				responseBody.write(body);
+			}
+		});
+		this.executor = Executors.newSingleThreadExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "metrics");
+			thread.setDaemon(true);
+			return thread;
+		});
+		this.server.setExecutor(this.executor);
+		this.server.start();
+	}
+
+	/**
+	 * This method stops serving.
+	 */
+	public void stop() {
+		if (this.server != null) {
+			this.server.stop(0);
+			this.executor.shutdown();
+			this.server = null;
+		}
+	}
+
+	/**
+	 * Getter for the port the server listens on
+	 */
+	public int getPort() {
+		return this.server.getAddress().getPort();
+	}
+
+	/**
+	 * This method returns all metrics in the Prometheus text format.
+	 */
+	public String render() {
+		StringBuilder text = new StringBuilder();
+
+		appendHeader(text, "pacman_ticks_total", "counter", "Simulation ticks run.");
+		appendSample(text, "pacman_ticks_total", "", this.metrics.getTickCount());
+
+		appendHeader(text, "pacman_phase_seconds", "summary", "Duration of the phases of the tick and of render.");
+		for (FramePhase phase : FramePhase.values()) {
+			String label = "phase=\"" + phase.toString().toLowerCase() + "\"";
+			appendSummary(text, "pacman_phase_seconds", label, this.metrics.getFrameTimings().get(phase), 1e-9);
+		}
+		appendHeader(text, "pacman_phase_max_seconds", "gauge", "Longest duration of the phases so far.");
+		for (FramePhase phase : FramePhase.values()) {
+			String label = "phase=\"" + phase.toString().toLowerCase() + "\"";
+			appendSample(text, "pacman_phase_max_seconds", label,
+					this.metrics.getFrameTimings().get(phase).getMax() * 1e-9);
+		}
+
+		appendHeader(text, "pacman_tick_allocated_bytes", "summary", "Bytes allocated by the simulation per tick.");
+		appendSummary(text, "pacman_tick_allocated_bytes", "", this.metrics.getTickAllocatedBytesHistogram(), 1);
+
+		appendHeader(text, "jvm_gc_collections_total", "counter", "Garbage collections run.");
+		for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+			appendSample(text, "jvm_gc_collections_total", "gc=\"" + collector.getName() + "\"",
+					Math.max(0, collector.getCollectionCount()));
+		}
+		appendHeader(text, "jvm_gc_pause_seconds_total", "counter", "Time spent in garbage collections.");
+		for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+			appendSample(text, "jvm_gc_pause_seconds_total", "gc=\"" + collector.getName() + "\"",
+					Math.max(0, collector.getCollectionTime()) * 1e-3);
+		}
+
+		appendHeader(text, "pacman_ghosts", "gauge", "Ghosts on the current map.");
+		appendSample(text, "pacman_ghosts", "", this.metrics.getGhostCount());
+		appendHeader(text, "pacman_level", "gauge", "Current level.");
+		appendSample(text, "pacman_level", "", this.metrics.getLevel());
+		appendHeader(text, "pacman_score", "gauge", "Current score.");
+		appendSample(text, "pacman_score", "", this.metrics.getScore());
+
+		appendHeader(text, "pacman_high_score_store_seconds", "summary", "Duration of saving the high scores.");
+		appendSummary(text, "pacman_high_score_store_seconds", "",
+				this.metrics.getGameInfo().getHighScoreStoreNanos(), 1e-9);
+
+		return text.toString();
+	}
+
+	/**
+	 * This method appends the HELP and TYPE lines of a metric.
+	 */
+	private static void appendHeader(StringBuilder text, String name, String type, String help) {
+		text.append("# HELP ").append(name).append(' ').append(help).append('\n');
+		text.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+	}
+
+	/**
+	 * This method appends one sample line.
+	 * @param labels labels without braces, empty for none
+	 */
+	private static void appendSample(StringBuilder text, String name, String labels, double value) {
+		text.append(name);
+		if (!labels.isEmpty()) {
+			text.append('{').append(labels).append('}');
+		}
+		text.append(' ').append(formatValue(value)).append('\n');
+	}
+
+	/**
+	 * This method appends the quantile, sum and count lines of a summary from a histogram.
+	 * @param scale factor from the unit of the histogram to the unit of the metric
+	 */
+	private static void appendSummary(StringBuilder text, String name, String labels,
+									  DynamicRangeHistogram histogram, double scale) {
+		String separator = labels.isEmpty() ? "" : ",";
+		for (double quantile : quantiles) {
+			appendSample(text, name, labels + separator + "quantile=\"" + quantile + "\"",
+					histogram.getPercentile(quantile * 100) * scale);
+		}
+		appendSample(text, name + "_sum", labels, histogram.getSum() * scale);
+		appendSample(text, name + "_count", labels, histogram.getCount());
+	}
+
+	/**
+	 * This method formats a value the way Prometheus parses it, whole numbers without a fraction.
+	 */
+	private static String formatValue(double value) {
+		if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+			return Long.toString((long) value);
+		}
+		return String.format(Locale.ROOT, "%.9g", value);
+	}
+}
@@ -0,0 +1,47 @@
+import org.junit.jupiter.api.Test;
+
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MetricsServerTest {
+    FrameTimings frameTimings = new FrameTimings();
+    GameMetrics metrics = new GameMetrics(frameTimings, new GameInfo());
+    MetricsServer server = new MetricsServer(metrics);
+
+    @Test
+    void renderGameLoopMetrics() {
+        frameTimings.get(FramePhase.GHOST_UPDATE).record(2000);
+        metrics.recordTick(100, 4, 2, 350);
+        metrics.recordTick(300, 4, 2, 360);
+
+        String text = server.render();
+        assertTrue(text.contains("# TYPE pacman_ticks_total counter\npacman_ticks_total 2\n"));
+        assertTrue(text.contains("pacman_tick_allocated_bytes_sum 400\n"));
+        assertTrue(text.contains("pacman_tick_allocated_bytes_count 2\n"));
+        assertTrue(text.contains("pacman_phase_seconds_count{phase=\"ghost_update\"} 1\n"));
+        assertTrue(text.contains("pacman_ghosts 4\n"));
+        assertTrue(text.contains("pacman_level 2\n"));
+        assertTrue(text.contains("pacman_score 360\n"));
+        assertTrue(text.contains("jvm_gc_pause_seconds_total"));
+        assertTrue(text.contains("pacman_high_score_store_seconds_count 0\n"));
+    }
+
+    @Test
+    void serveOnLoopback() throws Exception {
+        server.start(0);
+        try {
+            URL url = new URL("http://127.0.0.1:" + server.getPort() + "/metrics");
+            HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+            assertEquals(connection.getResponseCode(), 200);
+            try (InputStream body = connection.getInputStream()) {
+                assertTrue(new String(body.readAllBytes(), StandardCharsets.UTF_8).contains("pacman_ticks_total 0\n"));
+            }
+        } finally {
+            server.stop();
+        }
+    }
+}
@@ -0,0 +1,175 @@
+/**
+ * PackedTileGrid stores the tiles of a map with 2 bits per tile, row-major, 32 tiles to a long word in a single
+ * array. A map of 10 million tiles takes 2.5 MB instead of the 20 MB of a char[][] plus a header per row, and
+ * neighbouring rows sit next to each other in memory. Next to reading single tiles, the row scans test 32 tiles per
+ * word to find or count a kind of tile.
+ */
+public class PackedTileGrid {
+	// Kinds of tiles
+	public static final int empty = 0;
+	public static final int wall = 1;
+	public static final int dot = 2;
+	public static final int fruit = 3;
+
+	private static final char[] symbols = {' ', '#', '.', '*'};
+
+	private static final int tilesPerWordShift = 5;
+	private static final int tileInWordMask = 31;
+	private static final long tileMask = 3;
+	// The low bit of every tile in a word
+	private static final long lowBits = 0x5555555555555555L;
+
+	private final int rowCount;
+	private final int colCount;
+	private final long[] words;
+
+	/**
+	 * Constructor for a grid of empty tiles
+	 */
+	public PackedTileGrid(int rowCount, int colCount) {
+		this.rowCount = rowCount;
+		this.colCount = colCount;
+		this.words = new long[(int) (((long) rowCount * colCount + tileInWordMask) >> tilesPerWordShift)];
+	}
+
+	/**
+	 * Constructor for the grid of a map array of '#', '.', '*' and ' ' symbols
+	 */
+	public PackedTileGrid(char[][] mapArray) {
+		this(mapArray.length, mapArray[0].length);
+		for (int r = 0; r < this.rowCount; r++) {
+			for (int c = 0; c < this.colCount; c++) {
+				this.setTile(r, c, getTileOfSymbol(mapArray[r][c]));
+			}
+		}
+	}
+
+	/**
+	 * Constructor for a copy of other
+	 */
+	public PackedTileGrid(PackedTileGrid other) {
+		this.rowCount = other.rowCount;
+		this.colCount = other.colCount;
+		this.words = other.words.clone();
+	}
+
+	/**
+	 * This method returns the kind of a symbol of a map array, empty for unknown symbols.
+	 */
+	public static int getTileOfSymbol(char symbol) {
+		switch (symbol) {
+			case '#':
+				return wall;
+			case '.':
+				return dot;
+			case '*':
+				return fruit;
+			default:
+				return empty;
+		}
+	}
+
+	/**
+	 * This method returns the map array symbol of a kind of tile.
+	 */
+	public static char getSymbol(int tile) {
+		return symbols[tile];
+	}
+
+	/**
+	 * Getter for rowCount
+	 */
+	public int getRowCount() {
+		return this.rowCount;
+	}
+
+	/**
+	 * Getter for colCount
+	 */
+	public int getColCount() {
+		return this.colCount;
+	}
+
+	/**
+	 * This method returns the kind of a tile.
+	 */
+	public int getTile(int row, int col) {
+		int index = row * this.colCount + col;
+		return (int) (this.words[index >> tilesPerWordShift] >>> ((index & tileInWordMask) << 1) & tileMask);
+	}
+
+	/**
+	 * This method returns if a tile is a wall.
+	 */
+	public boolean getIsWall(int row, int col) {
+		return this.getTile(row, col) == wall;
+	}
+
+	/**
+	 * This method sets the kind of a tile.
+	 */
+	public void setTile(int row, int col, int tile) {
+		int index = row * this.colCount + col;
+		int shift = (index & tileInWordMask) << 1;
+		long word = this.words[index >> tilesPerWordShift];
+		this.words[index >> tilesPerWordShift] = word & ~(tileMask << shift) | ((long) tile << shift);
+	}
+
+	/**
+	 * This method sets every tile of a row to a kind of tile.
+	 */
+	public void fillRow(int row, int tile) {
+		for (int c = 0; c < this.colCount; c++) {
+			this.setTile(row, c, tile);
+		}
+	}
+
+	/**
+	 * This method returns the first column from fromCol on whose tile is of the given kind, or -1 when the rest of
+	 * the row has none.
+	 */
+	public int findInRow(int row, int fromCol, int tile) {
+		int rowStart = row * this.colCount;
+		int index = rowStart + fromCol;
+		int rowEnd = rowStart + this.colCount;
+		while (index < rowEnd) {
+			int wordIndex = index >> tilesPerWordShift;
+			long matches = this.getMatches(wordIndex, tile) & (-1L << ((index & tileInWordMask) << 1));
+			if (matches != 0) {
+				int match = (wordIndex << tilesPerWordShift) + (Long.numberOfTrailingZeros(matches) >> 1);
+				return match < rowEnd ? match - rowStart : -1;
+			}
+			index = (wordIndex + 1) << tilesPerWordShift;
+		}
+		return -1;
+	}
+
+	/**
+	 * This method returns the number of tiles of the given kind in a row.
+	 */
+	public int countInRow(int row, int tile) {
+		int index = row * this.colCount;
+		int rowEnd = index + this.colCount;
+		int count = 0;
+		while (index < rowEnd) {
+			int wordIndex = index >> tilesPerWordShift;
+			long matches = this.getMatches(wordIndex, tile) & (-1L << ((index & tileInWordMask) << 1));
+			int wordEnd = (wordIndex + 1) << tilesPerWordShift;
+			if (wordEnd > rowEnd) {
+				matches &= (1L << ((rowEnd & tileInWordMask) << 1)) - 1;
+			}
+			count += Long.bitCount(matches);
+			index = wordEnd;
+		}
+		return count;
+	}
+
+	/**
+	 * This method returns a word with the low bit of every tile of the given kind set in a word of the grid.
+	 */
+	private long getMatches(int wordIndex, int tile) {
+		// Tiles of the kind become 00 after the xor
+		long difference = this.words[wordIndex] ^ (lowBits * tile);
+		return ~(difference | (difference >>> 1)) & lowBits;
+	}
+}
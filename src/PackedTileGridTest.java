@@ -0,0 +1,55 @@
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PackedTileGridTest {
+    // Rows of 37 tiles do not line up with the 32 tiles of a word
+    char[][] mapArray = {
+            "#..*.................................".toCharArray(),
+            "#####################################".toCharArray(),
+            "*                                  .*".toCharArray()
+    };
+    PackedTileGrid grid = new PackedTileGrid(mapArray);
+
+    @Test
+    void readEveryTile() {
+        for (int r = 0; r < mapArray.length; r++) {
+            for (int c = 0; c < mapArray[0].length; c++) {
+                assertEquals(PackedTileGrid.getSymbol(grid.getTile(r, c)), mapArray[r][c]);
+            }
+        }
+    }
+
+    @Test
+    void setTile() {
+        grid.setTile(1, 33, PackedTileGrid.empty);
+        assertEquals(grid.getTile(1, 33), PackedTileGrid.empty);
+        assertTrue(grid.getIsWall(1, 32));
+        assertTrue(grid.getIsWall(1, 34));
+    }
+
+    @Test
+    void findInRow() {
+        assertEquals(grid.findInRow(0, 0, PackedTileGrid.fruit), 3);
+        assertEquals(grid.findInRow(0, 4, PackedTileGrid.fruit), -1);
+        assertEquals(grid.findInRow(2, 1, PackedTileGrid.fruit), 36);
+        assertEquals(grid.findInRow(2, 1, PackedTileGrid.dot), 35);
+        assertEquals(grid.findInRow(1, 0, PackedTileGrid.empty), -1);
+    }
+
+    @Test
+    void countInRow() {
+        assertEquals(grid.countInRow(0, PackedTileGrid.dot), 35);
+        assertEquals(grid.countInRow(1, PackedTileGrid.wall), 37);
+        assertEquals(grid.countInRow(2, PackedTileGrid.empty), 34);
+        assertEquals(grid.countInRow(2, PackedTileGrid.wall), 0);
+    }
+
+    @Test
+    void packLargeMap() {
+        PackedTileGrid largeGrid = new PackedTileGrid(4000, 4000);
+        largeGrid.setTile(3999, 3999, PackedTileGrid.fruit);
+        assertEquals(largeGrid.getTile(3999, 3999), PackedTileGrid.fruit);
+        assertEquals(largeGrid.findInRow(3999, 0, PackedTileGrid.fruit), 3999);
+    }
+}
@@ -2,72 +2,76 @@ import org.newdawn.slick.Animation;
 import org.newdawn.slick.Graphics;
 import org.newdawn.slick.SlickException;
 import org.newdawn.slick.SpriteSheet;
-import org.newdawn.slick.geom.Circle;
-import org.newdawn.slick.geom.Shape;
-import java.util.ArrayList;
 import java.util.HashMap;
 
 /**
  * Pacman contains all relevant fields and methods related to the pacman moving and navigating on the map.
+ * Positions and speeds are in TileUnits. Pacman moves along the center line of the paths and turns exactly on tile
+ * centers, so wall checks are lookups of the open directions of a tile.
  */
 public class Pacman {
-    private final float normalSpeed = 1.5f;
-    private final float arvindSpeed = 2.0f;
-    private float speed;
+    // TileUnits per tick of TileUnits.speedTickMillis, 1.5 and 2 pixels per tick on a 20 pixel tile
+    private final int normalSpeed = TileUnits.tileSize * 3 / 40;
+    private final int arvindSpeed = TileUnits.tileSize / 10;
+    private int speed;
 
     private Directions nextDir;
 
-    private HashMap<Directions, Animation> pacmanAnimations = new HashMap<>();
-    private Animation arvindAnimation;
-    private boolean shouldShowArvind = false;
+    // Distance in TileUnits from a tile center, before or after it, within which a buffered turn is taken there.
+    // Pacman turns right away and cuts the corner, closing the distance to the center while moving the new way.
+    public static final int defaultPreTurnWindow = TileUnits.tileSize / 8;
+    private int preTurnWindow = defaultPreTurnWindow;
 
-    private final float initialX;
-    private final float initialY;
+    // Shared by every pacman and loaded once on the render thread, so a pacman can be built on any thread.
+    private static HashMap<Directions, Animation> pacmanAnimations = new HashMap<>();
+    private static Animation arvindAnimation;
+    private boolean shouldShowArvind = false;
 
-    private float x;
-    private float y;
+    private int initialX;
+    private int initialY;
 
-    private float centerX;
-    private float centerY;
+    private int x;
+    private int y;
+    // Position before the last update, the start of the sweep for ghost contact
+    private int previousX;
+    private int previousY;
 
-    private final float elementPixelUnit;
+    private float elementPixelUnit;
     private Directions dir;
-    private Circle pacmanCircle;
-    private final float pacmanCircleRadius;
+    // The radius of the pacman circle in TileUnits for ghost contact and in pixels for the debug drawing
+    public static final int pacmanCircleRadius = TileUnits.tileSize / 2 * 90 / 100;
+    private float pacmanCirclePixelRadius;
 
     private boolean isAtIntersection = false;
 
-    private float closestNonCollisionX;
-    private float closestNonCollisionY;
-
     private final boolean isDebug;
 
     private HashMap<Directions, Integer> dirMapX;
     private HashMap<Directions, Integer> dirMapY;
 
-    private boolean isColliding = false;
-    private ArrayList<Shape> wallShapesAroundPacman;
-
     /**
      * Constructor for Pacman class taking in its parameters specified below.
      *
-     * @param initialX         the initial x coordinate of pacman
-     * @param initialY         the initial y coordinate of pacman
+     * @param initialX         the initial x coordinate of pacman in TileUnits
+     * @param initialY         the initial y coordinate of pacman in TileUnits
      * @param elementPixelUnit how many pixel (xy coordinate unit length) is one row/column equal to.
      * @param isDebug          boolean whether debug mode is on
      */
-    public Pacman(float initialX, float initialY, float elementPixelUnit, boolean isDebug) {
+    public Pacman(int initialX, int initialY, float elementPixelUnit, boolean isDebug) {
         this.initialX = initialX;
         this.initialY = initialY;
         this.x = initialX;
         this.y = initialY;
+        this.previousX = initialX;
+        this.previousY = initialY;
 
         this.dir = Directions.STILL;
         this.isDebug = isDebug;
         this.elementPixelUnit = elementPixelUnit;
         nextDir = Directions.STILL;
-        this.pacmanCircleRadius = (float) ((this.elementPixelUnit / 2) * 0.90);
+        this.pacmanCirclePixelRadius = (float) ((this.elementPixelUnit / 2) * 0.90);
         initDirMap();
+        this.setCurrentSpeed();
     }
 
     /**
@@ -76,25 +80,34 @@ public class Pacman {
     public void init() {
         this.setCurrentSpeed();
 
+        if (arvindAnimation != null) {
+            return;
+        }
+        AssetLoadEvent assetLoad = new AssetLoadEvent("Pacman");
+        assetLoad.begin();
         try {
-            this.initializePacmanAnimations();
-            this.initializeArvindAnimation();
-
-            // This is the conversion between animation coordinate and circle coordinate so that they fully overlap.
-            this.centerX = this.x + this.elementPixelUnit / 2;
-            this.centerY = this.y + this.elementPixelUnit / 2;
-
-            this.pacmanCircle = new Circle(
-                    this.centerX,
-                    this.centerY,
-                    this.pacmanCircleRadius);
-
+            this.initializePacmanAnimations(assetLoad);
+            this.initializeArvindAnimation(assetLoad);
         } catch (SlickException e) {
             System.out.println("Cannot load Pacman images.");
         }
+        assetLoad.commit();
 
     }
 
+    /**
+     * Sets one animation for every direction and for Arvind instead of loading them, so pacman can be drawn without
+     * a display.
+     *
+     * @param animation animation to draw
+     */
+    static void setAnimations(Animation animation) {
+        for (Directions dir : Directions.values()) {
+            pacmanAnimations.put(dir, animation);
+        }
+        arvindAnimation = animation;
+    }
+
     /**
      * Sets up the speed based on if Arvind status is turned on
      */
@@ -104,164 +117,198 @@ public class Pacman {
 
     /**
      * Initializes the animation for Arvind animation.
+     *
+     * @param assetLoad event counting the loaded images
      */
-    private void initializeArvindAnimation() throws SlickException {
-        SpriteSheet arvindSpriteSheet = new SpriteSheet("images/pacman/arvind.jpg", 200, 200);
-        Animation arvindAnimation = new Animation(arvindSpriteSheet, 100);
-
-        this.arvindAnimation = arvindAnimation;
+    private void initializeArvindAnimation(AssetLoadEvent assetLoad) throws SlickException {
+        SpriteSheet arvindSpriteSheet = assetLoad.add(new SpriteSheet("images/pacman/arvind.jpg", 200, 200));
+        arvindAnimation = new Animation(arvindSpriteSheet, 100);
     }
 
     /**
      * Initializes animations for pacman in all directions and put them into the pacmanAnimation HashMap.
+     *
+     * @param assetLoad event counting the loaded images
      */
-    private void initializePacmanAnimations() throws SlickException {
-        SpriteSheet pacmanLeftSpriteSheet = new SpriteSheet("images/pacman/pacman_left.jpg", 56, 56);
+    private void initializePacmanAnimations(AssetLoadEvent assetLoad) throws SlickException {
+        SpriteSheet pacmanLeftSpriteSheet = assetLoad.add(new SpriteSheet("images/pacman/pacman_left.jpg", 56, 56));
         Animation leftAnimation = new Animation(pacmanLeftSpriteSheet, 100);
 
-        SpriteSheet pacmanRightSpriteSheet = new SpriteSheet("images/pacman/pacman_right.jpg", 56, 56);
+        SpriteSheet pacmanRightSpriteSheet = assetLoad.add(new SpriteSheet("images/pacman/pacman_right.jpg", 56, 56));
         Animation rightAnimation = new Animation(pacmanRightSpriteSheet, 100);
 
-        SpriteSheet pacmanUpSpriteSheet = new SpriteSheet("images/pacman/pacman_up.jpg", 56, 56);
+        SpriteSheet pacmanUpSpriteSheet = assetLoad.add(new SpriteSheet("images/pacman/pacman_up.jpg", 56, 56));
         Animation upAnimation = new Animation(pacmanUpSpriteSheet, 100);
 
-        SpriteSheet pacmanDownSpriteSheet = new SpriteSheet("images/pacman/pacman_down.jpg", 56, 56);
+        SpriteSheet pacmanDownSpriteSheet = assetLoad.add(new SpriteSheet("images/pacman/pacman_down.jpg", 56, 56));
         Animation downAnimation = new Animation(pacmanDownSpriteSheet, 100);
 
-        SpriteSheet pacmanStillSpriteSheet = new SpriteSheet("images/pacman/pacman_still.jpg", 56, 56);
+        SpriteSheet pacmanStillSpriteSheet = assetLoad.add(new SpriteSheet("images/pacman/pacman_still.jpg", 56, 56));
         Animation stillAnimation = new Animation(pacmanStillSpriteSheet, 100);
 
-        this.pacmanAnimations.put(Directions.UP, upAnimation);
-        this.pacmanAnimations.put(Directions.DOWN, downAnimation);
-        this.pacmanAnimations.put(Directions.LEFT, leftAnimation);
-        this.pacmanAnimations.put(Directions.RIGHT, rightAnimation);
-        this.pacmanAnimations.put(Directions.STILL, stillAnimation);
+        pacmanAnimations.put(Directions.UP, upAnimation);
+        pacmanAnimations.put(Directions.DOWN, downAnimation);
+        pacmanAnimations.put(Directions.LEFT, leftAnimation);
+        pacmanAnimations.put(Directions.RIGHT, rightAnimation);
+        pacmanAnimations.put(Directions.STILL, stillAnimation);
     }
 
 
     /**
      * update method is called every frame of the game by the governing update method in MainGameState class.
      * it updates the positions (x, y) and directions (dir) of the pacman with processed key inputs.
-     * Update score based on whether location has dot.
-     */
-    public void update(
-            int delta,
-            ArrayList<Shape> closeByWallShapes,
-            float closestNonCollisionX,
-            float closestNonCollisionY
-    ) {
-        this.setWallShapesAroundPacman(closeByWallShapes);
-        this.closestNonCollisionX = closestNonCollisionX;
-        this.closestNonCollisionY = closestNonCollisionY;
-        this.pacmanAnimations.values().forEach(animation -> animation.update(delta));
-        this.arvindAnimation.update(delta);
-        this.updatePacmanCirclePosition();
-        this.setIsAtIntersectionAndCollidingWithWall();
-        updatePosition();
-
-        if (dirMovable(nextDir)) {
-            dir = nextDir;
-        } else if (isAtIntersection && isColliding) {
-            replacePacmanToPathCenter();
-            nextDir = Directions.STILL;
-            dir = nextDir;
+     * Pacman can turn around anywhere, but only stops at a wall on a tile center. It turns a corner on a tile center,
+     * or within the pre-turn window of one by cutting the corner.
+     * Pacman travels the distance of delta milliseconds at its speed. When that passes tile centers, the move stops on
+     * every one of them to turn or stop there before going on with the rest, so no junction or wall is skipped
+     * however long the tick is.
+     */
+    public void update(int delta, Map map) {
+        if (this.nextDir != Directions.STILL && this.nextDir == this.getReverseDirection(this.dir)) {
+            this.dir = this.nextDir;
         }
 
+        this.previousX = this.x;
+        this.previousY = this.y;
+        this.isAtIntersection = false;
+        int distance = TileUnits.getTravelDistance(this.speed, delta);
+        do {
+            this.takePreTurn(map);
+            if (TileUnits.getIsAtTileCenter(this.x, this.y)) {
+                this.isAtIntersection = true;
+                int openMask = map.getOpenDirectionMask(this.getRow(), this.getCol());
+                if (this.dirMovable(this.nextDir, openMask)) {
+                    this.dir = this.nextDir;
+                } else if (!this.dirMovable(this.dir, openMask)) {
+                    this.nextDir = Directions.STILL;
+                    this.dir = this.nextDir;
+                }
+            }
+            distance -= this.step(distance);
+        } while (distance > 0 && this.dir != Directions.STILL);
+
         this.setCurrentSpeed();
     }
 
 
     /**
-     * Method to rendering Pacman image.
+     * Advances the shared pacman and Arvind animations. It is called every frame on the render thread, apart from
+     * update so that the simulation never touches the animations.
      *
-     * @param g Graphics
+     * @param delta milliseconds since the last frame
      */
-    public void render(Graphics g) {
-        if (this.shouldShowArvind) {
-            this.arvindAnimation.draw(this.x, this.y, this.elementPixelUnit, this.elementPixelUnit);
-        }
-        else {
-            this.pacmanAnimations.get(this.dir).draw(this.x, this.y, this.elementPixelUnit, this.elementPixelUnit);
+    public static void updateSharedAnimations(int delta) {
+        pacmanAnimations.values().forEach(animation -> animation.update(delta));
+        if (arvindAnimation != null) {
+            arvindAnimation.update(delta);
         }
+    }
+
+    /**
+     * Method to rendering Pacman image at the position of a FrameSnapshot.
+     *
+     * @param g Graphics
+     * @param x x coordinate to draw at
+     * @param y y coordinate to draw at
+     * @param dir direction to draw
+     * @param shouldShowArvind whether to draw the Arvind animation
+     * @param renderCounters counters to report the draws to
+     */
+    public void render(Graphics g, float x, float y, Directions dir, boolean shouldShowArvind,
+                       RenderCounters renderCounters) {
+        Animation animation = shouldShowArvind ? arvindAnimation : pacmanAnimations.get(dir);
+        animation.draw(x, y, this.elementPixelUnit, this.elementPixelUnit);
+        renderCounters.countDraw(RenderComponent.PACMAN, animation);
         if (isDebug) {
-            g.draw(this.pacmanCircle);
+            float diameter = this.pacmanCirclePixelRadius * 2;
+            g.drawOval(x + this.elementPixelUnit / 2 - this.pacmanCirclePixelRadius,
+                    y + this.elementPixelUnit / 2 - this.pacmanCirclePixelRadius, diameter, diameter);
+            renderCounters.countShape(RenderComponent.PACMAN);
         }
     }
 
     /**
-     * Sets wallShapesAroundPacman
+     * Setter for nextDir
+     *
+     * @param nextDir nextDir to be set
      */
-    public void setWallShapesAroundPacman(ArrayList<Shape> wallShapesAroundPacman) {
-        this.wallShapesAroundPacman = wallShapesAroundPacman;
+    public void setNextDir(Directions nextDir) {
+        this.nextDir = nextDir;
     }
 
     /**
-     * When collision is detected, the pacman circle would already be slightly off the center of its path.
-     * This method moves it back to the center, resets its position to be right before the collision so that the
-     * collision state is clear and the pacman could change direction.
+     * Turns Pacman to nextDir when it is within the pre-turn window before or after the closest tile center and
+     * nextDir is open there. Pacman is left off the center, step closes the distance to it while moving the new way.
+     *
+     * @param map map to read the open directions from
      */
-    public void replacePacmanToPathCenter() {
-        this.x = this.closestNonCollisionX;
-        this.y = this.closestNonCollisionY;
+    private void takePreTurn(Map map) {
+        if (this.dir == Directions.STILL || this.nextDir == Directions.STILL || this.nextDir == this.dir
+                || this.nextDir == this.getReverseDirection(this.dir)) {
+            return;
+        }
+        int offset = dirMapX.get(this.dir) != 0 ? TileUnits.getOffset(this.x) : TileUnits.getOffset(this.y);
+        if (offset == 0 || Math.abs(offset) > this.preTurnWindow) {
+            return;
+        }
+        if (this.dirMovable(this.nextDir, map.getOpenDirectionMask(this.getRow(), this.getCol()))) {
+            this.dir = this.nextDir;
+        }
     }
 
     /**
-     * Determine if wall shapes around Pacman is colliding with Pacman circle.
+     * Setter for preTurnWindow, 0 turns only on reaching a tile center
      *
-     * @param circle Pacman circle
-     * @return boolean whether collision happens
+     * @param preTurnWindow distance in TileUnits, less than half a tile
      */
-    public boolean getIsCollidingWithCircle(Circle circle) {
-        for (Shape wall : this.wallShapesAroundPacman) {
-            if (circle.intersects(wall)) {
-                return true;
-            }
-        }
-        return false;
+    public void setPreTurnWindow(int preTurnWindow) {
+        this.preTurnWindow = preTurnWindow;
     }
 
     /**
-     * Set isAtIntersection and isColliding according to whether Pacman circle intersects with wall shapes and available directions at current coordinate.
+     * Update Pacman position using direction maps. The step ends at the next tile center when that is closer.
      */
-    public void setIsAtIntersectionAndCollidingWithWall() {
-        for (Shape wall : this.wallShapesAroundPacman) {
-            if (this.pacmanCircle.intersects(wall)) {
-                this.isAtIntersection = true;
-                this.isColliding = true;
-                return;
-            }
-        }
-        // if the ghost is close enough to a nearest non collision location (path center) and the pacman temp circle
-        // (placed at the nearest path center) has more than 2 available directions
-        // (more than current direction and its reverse), it is also at intersection.
-        if (Math.abs(this.closestNonCollisionX - this.x) < this.speed / 2 &&
-                Math.abs(this.closestNonCollisionY - this.y) < this.speed / 2 &&
-                this.getAvailableDirections(this.closestNonCollisionX, this.closestNonCollisionY).size() >= 2) {
-            this.isAtIntersection = true;
-            return;
-        }
-
-        this.isAtIntersection = false;
-        this.isColliding = false;
+    public void updatePosition() {
+        this.step(this.speed);
     }
 
     /**
-     * Setter for nextDir
+     * Moves Pacman at most the given distance in its direction, ending at the next tile center when that is closer.
+     * After a turn taken off a tile center, Pacman also moves as far towards the center line it turned on.
      *
-     * @param nextDir nextDir to be set
+     * @param distance distance left to travel in TileUnits
+     * @return the distance moved
      */
-    public void setNextDir(Directions nextDir) {
-        this.nextDir = nextDir;
+    private int step(int distance) {
+        if (dir == Directions.STILL) {
+            return 0;
+        }
+        int stepLength = TileUnits.getStepLength(this.x, this.y, this.dir, distance);
+        x += dirMapX.get(dir) * stepLength;
+        y += dirMapY.get(dir) * stepLength;
+        if (dirMapX.get(dir) != 0) {
+            y -= Math.max(-stepLength, Math.min(stepLength, TileUnits.getOffset(y)));
+        } else {
+            x -= Math.max(-stepLength, Math.min(stepLength, TileUnits.getOffset(x)));
+        }
+        return stepLength;
     }
 
     /**
-     * Update Pacman position using direction maps.
+     * Method to reuse this pacman on another map: sets new initial coordinates and size, then resets it there.
+     *
+     * @param initialX         the initial x coordinate of pacman in TileUnits
+     * @param initialY         the initial y coordinate of pacman in TileUnits
+     * @param elementPixelUnit how many pixel (xy coordinate unit length) is one row/column equal to.
      */
-    public void updatePosition() {
-        if (dir != Directions.STILL) {
-            x += dirMapX.get(dir) * this.speed;
-            y += dirMapY.get(dir) * this.speed;
-        }
+    public void reset(int initialX, int initialY, float elementPixelUnit) {
+        this.initialX = initialX;
+        this.initialY = initialY;
+        this.elementPixelUnit = elementPixelUnit;
+        this.pacmanCirclePixelRadius = (float) ((this.elementPixelUnit / 2) * 0.90);
+        this.isAtIntersection = false;
+        this.reset();
+        this.setCurrentSpeed();
     }
 
     /**
@@ -270,6 +317,8 @@ public class Pacman {
     public void reset() {
         this.x = this.initialX;
         this.y = this.initialY;
+        this.previousX = this.initialX;
+        this.previousY = this.initialY;
         this.dir = Directions.STILL;
         this.nextDir = Directions.STILL;
         this.shouldShowArvind = false;
@@ -278,55 +327,55 @@ public class Pacman {
     /**
      * Getter for x.
      *
-     * @return x
+     * @return x in TileUnits
      */
-    public float getX() {
+    public int getX() {
         return x;
     }
 
     /**
      * Getter for y.
      *
-     * @return y
+     * @return y in TileUnits
      */
-    public float getY() {
+    public int getY() {
         return y;
     }
 
     /**
      * Setter for x.
      *
-     * @param x x coordinate of Pacman.
+     * @param x x coordinate of Pacman in TileUnits.
      */
-    public void setX(float x) {
+    public void setX(int x) {
         this.x = x;
     }
 
     /**
      * Setter for y.
      *
-     * @param y y coordinate of Pacman.
+     * @param y y coordinate of Pacman in TileUnits.
      */
-    public void setY(float y) {
+    public void setY(int y) {
         this.y = y;
     }
 
     /**
-     * Getter for center x.
+     * Getter for the row of the tile closest to Pacman.
      *
-     * @return center x
+     * @return row
      */
-    public float getCenterX() {
-        return centerX;
+    public int getRow() {
+        return TileUnits.toTile(this.y);
     }
 
     /**
-     * Getter for center y.
+     * Getter for the column of the tile closest to Pacman.
      *
-     * @return center y
+     * @return column
      */
-    public float getCenterY() {
-        return centerY;
+    public int getCol() {
+        return TileUnits.toTile(this.x);
     }
 
     /**
@@ -366,12 +415,13 @@ public class Pacman {
     }
 
     /**
-     * Getter for Pacman circle.
+     * Returns an immutable copy of the current pacman state for the ghost update phase.
      *
-     * @return Pacman circle
+     * @return snapshot of pacman
      */
-    public Circle getPacmanCircle() {
-        return this.pacmanCircle;
+    public PacmanSnapshot getSnapshot() {
+        return new PacmanSnapshot(this.x, this.y, this.previousX, this.previousY, pacmanCircleRadius,
+                this.shouldShowArvind);
     }
 
     /**
@@ -431,76 +481,32 @@ public class Pacman {
     }
 
     /**
-     * Return whether next position is accessible given dir.
+     * Return whether Pacman can leave the tile center it is on in the given direction.
      *
-     * @param d direction for next position
-     * @return boolean whether next position is accessible given dir.
+     * @param d        direction to leave in
+     * @param openMask open directions of the tile, from Map.getOpenDirectionMask
+     * @return boolean whether the tile is open in that direction
      * @see Directions
      */
-    private boolean dirMovable(Directions d) {
-        float nextX = x + elementPixelUnit * dirMapX.get(d);
-        float nextY = y + elementPixelUnit * dirMapY.get(d);
-
-        this.pacmanCircle.setCenterX(nextX + this.elementPixelUnit / 2);
-        this.pacmanCircle.setCenterY(nextY + this.elementPixelUnit / 2);
-        boolean isNextPositionPacmanCircleColliding = this.getIsCollidingWithCircle(this.pacmanCircle);
-        updatePacmanCirclePosition();
-        return !isNextPositionPacmanCircleColliding;
-    }
-
-    /**
-     * This method updates the center x,y of the circle based on the x, y of the pacman animation.
-     */
-    private void updatePacmanCirclePosition() {
-        this.centerX = this.x + this.elementPixelUnit / 2;
-        this.centerY = this.y + this.elementPixelUnit / 2;
-
-        this.pacmanCircle.setCenterX(centerX);
-        this.pacmanCircle.setCenterY(centerY);
+    private boolean dirMovable(Directions d, int openMask) {
+        return d != Directions.STILL && (openMask & Map.getDirectionBit(d)) != 0;
     }
 
     /**
-     * This method creates a temporary pacman circle that is placed one radius distance more than the
-     * current actual pacman circle for each of the four directions. Then it populates available directions for those
-     * that do not cause a collision between the temporary pacman circle and the wallShapesAroundPacman.
+     * Return the opposite of a direction, STILL for STILL.
      */
-    private ArrayList<Directions> getAvailableDirections(float x, float y) {
-        ArrayList<Directions> availableDirections = new ArrayList<>();
-
-        float currentCircleCenterX = x + this.elementPixelUnit / 2;
-        float currentCircleCenterY = y + this.elementPixelUnit / 2;
-
-        Circle tempPacmanCircle = new Circle(
-                currentCircleCenterX,
-                currentCircleCenterY,
-                this.pacmanCircleRadius);
-
-        // LEFT
-        tempPacmanCircle.setCenterX(currentCircleCenterX - this.pacmanCircleRadius);
-        tempPacmanCircle.setCenterY(currentCircleCenterY);
-        if (this.wallShapesAroundPacman.stream().noneMatch(tempPacmanCircle::intersects)) {
-            availableDirections.add(Directions.LEFT);
+    private Directions getReverseDirection(Directions d) {
+        switch (d) {
+            case UP:
+                return Directions.DOWN;
+            case DOWN:
+                return Directions.UP;
+            case LEFT:
+                return Directions.RIGHT;
+            case RIGHT:
+                return Directions.LEFT;
+            default:
+                return Directions.STILL;
         }
-
-        // RIGHT
-        tempPacmanCircle.setCenterX(currentCircleCenterX + this.pacmanCircleRadius);
-        tempPacmanCircle.setCenterY(currentCircleCenterY);
-        if (this.wallShapesAroundPacman.stream().noneMatch(tempPacmanCircle::intersects)) {
-            availableDirections.add(Directions.RIGHT);
-        }
-        // UP
-        tempPacmanCircle.setCenterX(currentCircleCenterX);
-        tempPacmanCircle.setCenterY(currentCircleCenterY - this.pacmanCircleRadius);
-        if (this.wallShapesAroundPacman.stream().noneMatch(tempPacmanCircle::intersects)) {
-            availableDirections.add(Directions.UP);
-        }
-        // DOWN
-        tempPacmanCircle.setCenterX(currentCircleCenterX);
-        tempPacmanCircle.setCenterY(currentCircleCenterY + this.pacmanCircleRadius);
-        if (this.wallShapesAroundPacman.stream().noneMatch(tempPacmanCircle::intersects)) {
-            availableDirections.add(Directions.DOWN);
-        }
-
-        return availableDirections;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,83 @@
+/**
+ * PacmanSnapshot is an immutable copy of the pacman state that ghosts read during their update phase. Ghosts never
+ * read the live Pacman object, so ghost updates can run in any order or in parallel and still see the same pacman.
+ * Positions and the circle radius are in TileUnits. The previous position is where pacman was before it moved in the
+ * current tick, ghosts sweep pacman from there to its position.
+ */
+public final class PacmanSnapshot {
+	private final int x;
+	private final int y;
+	private final int previousX;
+	private final int previousY;
+	private final int circleRadius;
+	private final boolean shouldShowArvind;
+
+	public PacmanSnapshot(int x, int y, int circleRadius, boolean shouldShowArvind) {
+		this(x, y, x, y, circleRadius, shouldShowArvind);
+	}
+
+	public PacmanSnapshot(int x, int y, int previousX, int previousY, int circleRadius, boolean shouldShowArvind) {
+		this.x = x;
+		this.y = y;
+		this.previousX = previousX;
+		this.previousY = previousY;
+		this.circleRadius = circleRadius;
+		this.shouldShowArvind = shouldShowArvind;
+	}
+
+	/**
+	 * Getter for x
+	 */
+	public int getX() {
+		return this.x;
+	}
+
+	/**
+	 * Getter for y
+	 */
+	public int getY() {
+		return this.y;
+	}
+
+	/**
+	 * Getter for x before the last move
+	 */
+	public int getPreviousX() {
+		return this.previousX;
+	}
+
+	/**
+	 * Getter for y before the last move
+	 */
+	public int getPreviousY() {
+		return this.previousY;
+	}
+
+	/**
+	 * Getter for the row of the tile closest to pacman
+	 */
+	public int getRow() {
+		return TileUnits.toTile(this.y);
+	}
+
+	/**
+	 * Getter for the column of the tile closest to pacman
+	 */
+	public int getCol() {
+		return TileUnits.toTile(this.x);
+	}
+
+	/**
+	 * Getter for the radius of the pacman circle
+	 */
+	public int getCircleRadius() {
+		return this.circleRadius;
+	}
+
+	/**
+	 * Getter for shouldShowArvind. Pacman is immune to ghosts in Arvind mode.
+	 */
+	public boolean getShouldShowArvind() {
+		return this.shouldShowArvind;
+	}
+}
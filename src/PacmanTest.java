@@ -4,10 +4,14 @@ import static org.junit.jupiter.api.Assertions.*;
 
 
 class PacmanTest {
-    Pacman pacmanTest = new Pacman(212, 90, 22, false);
+    Pacman pacmanTest = new Pacman(TileUnits.fromTile(1), TileUnits.fromTile(1), 22, false);
     MapData mapData = MapCollections.getMapData(1);
     Map map = new Map(mapData, 22, 190, 67, false);
 
+    PacmanTest() {
+        map.initNavigation();
+    }
+
     @Test
     void initDirMap() {
         pacmanTest.initDirMap();
@@ -15,28 +19,113 @@ class PacmanTest {
     }
 
     @Test
-    void getIsCollidingWithCircle() {
-        pacmanTest.setWallShapesAroundPacman(map.getCloseByWallShapes(pacmanTest.getX(), pacmanTest.getY()));
-        boolean res = pacmanTest.getIsCollidingWithCircle(pacmanTest.getPacmanCircle());
-        assertFalse(res);
+    void updateTowardsWall() {
+        pacmanTest.setNextDirection(Directions.LEFT);
+        pacmanTest.update(16, map);
+        assertTrue(pacmanTest.getIsAtIntersection());
+        assertEquals(pacmanTest.getDir(), Directions.STILL);
+        assertEquals(pacmanTest.getX(), TileUnits.fromTile(1));
     }
 
     @Test
-    void setIsAtIntersectionAndCollidingWithWall() {
-        pacmanTest.setWallShapesAroundPacman(map.getCloseByWallShapes(pacmanTest.getX(), pacmanTest.getY()));
-        pacmanTest.setIsAtIntersectionAndCollidingWithWall();
-        assertFalse(pacmanTest.getIsAtIntersection());
+    void updatePosition() {
+        pacmanTest.updatePosition();
+        assertEquals(pacmanTest.getX(), TileUnits.fromTile(1));
     }
 
     @Test
-    void updatePosition() {
-        pacmanTest.updatePosition();
-        assertEquals(pacmanTest.getX(), 212);
+    void turnOnTileCenter() {
+        Pacman pacman = new Pacman(TileUnits.fromTile(6), TileUnits.fromTile(1), 22, false);
+        pacman.setNextDirection(Directions.RIGHT);
+        pacman.update(16, map);
+        // (2, 6) is a wall, the turn waits for the center of (1, 7)
+        pacman.setNextDirection(Directions.DOWN);
+        for (int i = 0; i < 40; i++) {
+            pacman.update(16, map);
+            assertTrue(pacman.getX() <= TileUnits.fromTile(7));
+        }
+        assertEquals(pacman.getX(), TileUnits.fromTile(7));
+        assertEquals(pacman.getDir(), Directions.DOWN);
+        assertTrue(pacman.getY() > TileUnits.fromTile(1));
+    }
+
+    @Test
+    void turnOnTileCenterDuringLongTick() {
+        Pacman pacman = new Pacman(TileUnits.fromTile(6), TileUnits.fromTile(1), 22, false);
+        pacman.setNextDirection(Directions.RIGHT);
+        pacman.update(16, map);
+        pacman.setNextDirection(Directions.DOWN);
+        // Long enough to reach the center of (1, 7), turn there and pass the center of (2, 7)
+        pacman.update(16 * 27, map);
+        assertEquals(pacman.getX(), TileUnits.fromTile(7));
+        assertEquals(pacman.getY(), TileUnits.fromTile(2) + 20);
+        assertEquals(pacman.getSnapshot().getPreviousX(), TileUnits.fromTile(6) + 19);
+    }
+
+    @Test
+    void turnInPreTurnWindow() {
+        Pacman pacman = new Pacman(TileUnits.fromTile(7) - 10, TileUnits.fromTile(1), 22, false);
+        pacman.setDir(Directions.RIGHT);
+        pacman.setNextDirection(Directions.DOWN);
+        pacman.update(16, map);
+        // pacman cuts the corner, closing the 10 units to the center while moving the 19 units of the tick down
+        assertEquals(pacman.getDir(), Directions.DOWN);
+        assertEquals(pacman.getX(), TileUnits.fromTile(7));
+        assertEquals(pacman.getY(), TileUnits.fromTile(1) + 19);
     }
 
     @Test
-    void replacePacmanToPathCenter() {
-        pacmanTest.replacePacmanToPathCenter();
-        assertEquals(pacmanTest.getX(), pacmanTest.getCenterX());
+    void turnInPreTurnWindowAfterCenter() {
+        Pacman pacman = new Pacman(TileUnits.fromTile(7) + 10, TileUnits.fromTile(1), 22, false);
+        pacman.setDir(Directions.RIGHT);
+        pacman.setNextDirection(Directions.DOWN);
+        pacman.update(16, map);
+        assertEquals(pacman.getDir(), Directions.DOWN);
+        assertEquals(pacman.getX(), TileUnits.fromTile(7));
+        assertEquals(pacman.getY(), TileUnits.fromTile(1) + 19);
+    }
+
+    @Test
+    void noPreTurnBeyondPreTurnWindow() {
+        Pacman pacman = new Pacman(TileUnits.fromTile(7) - 40, TileUnits.fromTile(1), 22, false);
+        pacman.setDir(Directions.RIGHT);
+        pacman.setNextDirection(Directions.DOWN);
+        pacman.update(16, map);
+        assertEquals(pacman.getDir(), Directions.RIGHT);
+        assertEquals(pacman.getX(), TileUnits.fromTile(7) - 21);
+        assertEquals(pacman.getY(), TileUnits.fromTile(1));
+    }
+
+    @Test
+    void turnWithoutPreTurnWindow() {
+        Pacman pacman = new Pacman(TileUnits.fromTile(7) - 10, TileUnits.fromTile(1), 22, false);
+        pacman.setPreTurnWindow(0);
+        pacman.setDir(Directions.RIGHT);
+        pacman.setNextDirection(Directions.DOWN);
+        pacman.update(16, map);
+        // the turn waits for the center, so only 9 of the 19 units of the tick are moved down
+        assertEquals(pacman.getDir(), Directions.DOWN);
+        assertEquals(pacman.getX(), TileUnits.fromTile(7));
+        assertEquals(pacman.getY(), TileUnits.fromTile(1) + 9);
+
+        Pacman pacmanAfterCenter = new Pacman(TileUnits.fromTile(7) + 10, TileUnits.fromTile(1), 22, false);
+        pacmanAfterCenter.setPreTurnWindow(0);
+        pacmanAfterCenter.setDir(Directions.RIGHT);
+        pacmanAfterCenter.setNextDirection(Directions.DOWN);
+        pacmanAfterCenter.update(16, map);
+        assertEquals(pacmanAfterCenter.getDir(), Directions.RIGHT);
+        assertEquals(pacmanAfterCenter.getX(), TileUnits.fromTile(7) + 29);
+    }
+
+    @Test
+    void turnAroundBetweenTileCenters() {
+        pacmanTest.setNextDirection(Directions.RIGHT);
+        pacmanTest.update(16, map);
+        assertTrue(pacmanTest.getX() > TileUnits.fromTile(1));
+
+        pacmanTest.setNextDirection(Directions.LEFT);
+        pacmanTest.update(16, map);
+        assertEquals(pacmanTest.getDir(), Directions.LEFT);
+        assertEquals(pacmanTest.getX(), TileUnits.fromTile(1));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,81 @@
+import java.util.ArrayList;
+
+/**
+ * PathfindingGhostBrain follows a path planned on the hierarchical pathfinder of the map while pacman is more than one
+ * cluster away, where a straight line is a poor guide through the maze. Close to pacman it behaves like
+ * GreedyGhostBrain. Each ghost needs its own instance because the planned path is kept here.
+ */
+public class PathfindingGhostBrain implements GhostBrain {
+	private final GreedyGhostBrain greedyGhostBrain = new GreedyGhostBrain();
+
+	private HierarchicalPathfinder.Path pathToPacman;
+
+	/**
+	 * The path is planned again when there is none, when pacman has moved more than one cluster from its goal, or when
+	 * the ghost has left it.
+	 */
+	@Override
+	public void plan(Ghost ghost, PacmanSnapshot pacman, Map map) {
+		HierarchicalPathfinder pathfinder = map.getPathfinder();
+		if (pathfinder == null) {
+			return;
+		}
+		int ghostRow = ghost.getRow();
+		int ghostCol = ghost.getCol();
+		int pacmanRow = pacman.getRow();
+		int pacmanCol = pacman.getCol();
+
+		if (!this.getIsPacmanDistant(ghostRow, ghostCol, pacmanRow, pacmanCol, pathfinder)) {
+			this.pathToPacman = null;
+			return;
+		}
+
+		boolean isPathStale = this.pathToPacman == null
+				|| Math.abs(this.pathToPacman.getGoalRow() - pacmanRow)
+						+ Math.abs(this.pathToPacman.getGoalCol() - pacmanCol) > pathfinder.getClusterSize()
+				|| pathfinder.getNextDirection(this.pathToPacman, ghostRow, ghostCol) == null;
+		if (isPathStale) {
+			this.pathToPacman = pathfinder.findPath(ghostRow, ghostCol, pacmanRow, pacmanCol);
+		}
+	}
+
+	/**
+	 * The planned path belongs to the map it was planned on.
+	 */
+	@Override
+	public void reset() {
+		this.pathToPacman = null;
+	}
+
+	/**
+	 * Follow the last planned path when pacman is far away and the path leads through one of the available
+	 * directions, otherwise fall back to the greedy choice.
+	 */
+	@Override
+	public Directions chooseNextDirection(Ghost ghost, ArrayList<Directions> availableDirections, PacmanSnapshot pacman,
+										  Map map) {
+		HierarchicalPathfinder pathfinder = map == null ? null : map.getPathfinder();
+		if (pathfinder != null && this.pathToPacman != null) {
+			int ghostRow = ghost.getRow();
+			int ghostCol = ghost.getCol();
+			int pacmanRow = pacman.getRow();
+			int pacmanCol = pacman.getCol();
+			if (this.getIsPacmanDistant(ghostRow, ghostCol, pacmanRow, pacmanCol, pathfinder)) {
+				Directions pathDirection = pathfinder.getNextDirection(this.pathToPacman, ghostRow, ghostCol);
+				if (pathDirection != null && availableDirections.contains(pathDirection)) {
+					return pathDirection;
+				}
+			}
+		}
+
+		return this.greedyGhostBrain.chooseNextDirection(ghost, availableDirections, pacman, map);
+	}
+
+	/**
+	 * Pacman is distant when it is more than one cluster of tiles away from the ghost.
+	 */
+	private boolean getIsPacmanDistant(int ghostRow, int ghostCol, int pacmanRow, int pacmanCol,
+									   HierarchicalPathfinder pathfinder) {
+		return Math.abs(ghostRow - pacmanRow) + Math.abs(ghostCol - pacmanCol) > pathfinder.getClusterSize();
+	}
+}
@@ -0,0 +1,164 @@
+import org.junit.jupiter.api.Test;
+import org.newdawn.slick.Animation;
+import org.newdawn.slick.Graphics;
+import org.newdawn.slick.Image;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class RenderAllocationTest {
+    static final int frameCount = 10000;
+    // The first frame may build the cached text of a renderer
+    static final long firstFrameSlackBytes = 4 * 1024;
+    static final int runCount = 10;
+
+    // Draws nothing, so every state is rendered without a display
+    Graphics g = new Graphics() {
+        @Override
+        public void drawString(String str, float x, float y) {
+        }
+    };
+    Image image = new Image() {
+        @Override
+        public void draw(float x, float y, float width, float height) {
+        }
+
+        @Override
+        public void startUse() {
+        }
+
+        @Override
+        public void endUse() {
+        }
+
+        @Override
+        public void drawEmbedded(float x, float y, float width, float height) {
+        }
+    };
+    Animation animation = new Animation() {
+        @Override
+        public void draw(float x, float y, float width, float height) {
+        }
+
+        @Override
+        public Image getCurrentFrame() {
+            return image;
+        }
+    };
+
+    /**
+     * Returns the bytes the current thread allocated while drawing frameCount frames. A first renderer draws one
+     * frame to load the classes of the render path. The first frame of the second renderer may build its cached text.
+     * HotSpot resolves the string constants of a class on the thread asking for a C2 compilation of one of its
+     * methods, so a run of frames can allocate while the render path is compiled. A frame that allocates does so in
+     * every run, so the smallest allocation of up to runCount runs of frameCount frames is returned.
+     * @param createRenderer creates a new renderer, whose run method draws one frame
+     */
+    long getAllocatedBytes(Supplier<Runnable> createRenderer) {
+        assumeTrue(ThreadAllocation.getIsSupported());
+        createRenderer.get().run();
+
+        Runnable renderer = createRenderer.get();
+        long allocatedBytesAtStart = ThreadAllocation.getAllocatedBytes();
+        renderer.run();
+        long firstFrameBytes = ThreadAllocation.getAllocatedBytes() - allocatedBytesAtStart;
+        assertTrue(firstFrameBytes < firstFrameSlackBytes, firstFrameBytes + " bytes in the first frame");
+
+        long allocatedBytes = getAllocatedBytes(renderer);
+        for (int i = 1; i < runCount && allocatedBytes > 0; i++) {
+            allocatedBytes = Math.min(allocatedBytes, getAllocatedBytes(renderer));
+        }
+        return allocatedBytes;
+    }
+
+    /**
+     * Returns the bytes the current thread allocated while drawing frameCount frames with the given renderer.
+     */
+    long getAllocatedBytes(Runnable renderer) {
+        long allocatedBytesAtStart = ThreadAllocation.getAllocatedBytes();
+        for (int i = 0; i < frameCount; i++) {
+            renderer.run();
+        }
+        return ThreadAllocation.getAllocatedBytes() - allocatedBytesAtStart;
+    }
+
+    /**
+     * Returns a MainGameState on the first level after a few ticks, drawn with the no-op images.
+     */
+    MainGameState createMainGameState() {
+        Map.setImages(image, image, image);
+        Pacman.setAnimations(animation);
+        Ghost.setAnimations(animation);
+        MainGameState mainGameState = new MainGameState(1000, 800, new GameInfo(), false);
+        mainGameState.initLevel();
+        for (int i = 0; i < 100; i++) {
+            mainGameState.runSimulationStep(16);
+        }
+        return mainGameState;
+    }
+
+    @Test
+    void mainGameRenderAllocatesNothing() {
+        MainGameState[] mainGameState = new MainGameState[1];
+        long allocatedBytes = getAllocatedBytes(() -> {
+            mainGameState[0] = createMainGameState();
+            return () -> mainGameState[0].render(null, null, g);
+        });
+        assertEquals(allocatedBytes, 0);
+        RenderCounters renderCounters = mainGameState[0].getRenderCounters();
+        assertTrue(renderCounters.getDrawCalls(RenderComponent.MAP) > 0);
+        assertTrue(renderCounters.getDrawCalls(RenderComponent.PACMAN) > 0);
+        assertTrue(renderCounters.getDrawCalls(RenderComponent.GHOST) > 0);
+        assertTrue(renderCounters.getStringDraws(RenderComponent.GAME_INFO) > 0);
+    }
+
+    @Test
+    void gameInfoRenderAllocatesNothing() {
+        long allocatedBytes = getAllocatedBytes(() -> {
+            GameInfo gameInfo = new GameInfo();
+            gameInfo.addScore(1230);
+            RenderCounters renderCounters = new RenderCounters();
+            return () -> {
+                renderCounters.beginFrame();
+                gameInfo.render(g, gameInfo.getLevel(), gameInfo.getScore(), gameInfo.getLives(), renderCounters);
+            };
+        });
+        assertEquals(allocatedBytes, 0);
+    }
+
+    @Test
+    void gameOverTextAllocatesNothing() {
+        long allocatedBytes = getAllocatedBytes(() -> {
+            GameOverState gameOverState = new GameOverState(new GameInfo());
+            return () -> gameOverState.drawScoreAndLevel(g, 345, 180, 210);
+        });
+        assertEquals(allocatedBytes, 0);
+    }
+
+    @Test
+    void highScoresAllocateNothing() throws Exception {
+        Path file = Files.createTempFile("high-scores", ".txt");
+        try {
+            Files.write(file, Arrays.asList("980", "450", "120"), StandardCharsets.UTF_8);
+            HistoryHighScoreState.setCurrentScore(450);
+            HistoryHighScoreState historyHighScoreState = new HistoryHighScoreState();
+            historyHighScoreState.loadHighScores(file);
+            assertEquals(historyHighScoreState.drawHighScores(g, 400, 300), 360);
+
+            long allocatedBytes = getAllocatedBytes(() -> {
+                HistoryHighScoreState renderedState = new HistoryHighScoreState();
+                renderedState.loadHighScores(file);
+                return () -> renderedState.drawHighScores(g, 400, 300);
+            });
+            assertEquals(allocatedBytes, 0);
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
@@ -0,0 +1,9 @@
+/**
+ * RenderComponent names the parts of the game that RenderCounters counts the draw work of.
+ */
+public enum RenderComponent {
+	MAP,
+	PACMAN,
+	GHOST,
+	GAME_INFO
+}
@@ -0,0 +1,106 @@
+import org.newdawn.slick.Animation;
+import org.newdawn.slick.Graphics;
+import org.newdawn.slick.Image;
+
+/**
+ * RenderCounters counts the image draws, texture binds and string draws every RenderComponent issues in a frame. The
+ * components report every draw they make and the counters follow the texture Slick last bound the same way Slick
+ * does: drawing from another texture than the last one binds it, a string binds the texture of the font and an
+ * untextured shape unbinds the texture. The counts only depend on the draw calls made, so they are the same without a
+ * display, which lets tests check them.
+ *
+ * The counters are only used from the render thread.
+ */
+public class RenderCounters {
+	private final int[] drawCalls = new int[RenderComponent.values().length];
+	private final int[] textureBinds = new int[RenderComponent.values().length];
+	private final int[] stringDraws = new int[RenderComponent.values().length];
+
+	// Stands for no texture bound, at the start of a frame and after an untextured draw
+	private static final Object noTexture = new Object();
+
+	// The texture of the last textured draw
+	private Object boundTexture = noTexture;
+
+	/**
+	 * This method starts a frame, clearing the counts of the previous one.
+	 */
+	public void beginFrame() {
+		for (int i = 0; i < this.drawCalls.length; i++) {
+			this.drawCalls[i] = 0;
+			this.textureBinds[i] = 0;
+			this.stringDraws[i] = 0;
+		}
+		this.boundTexture = noTexture;
+	}
+
+	/**
+	 * This method counts drawing an image.
+	 */
+	public void countDraw(RenderComponent component, Image image) {
+		this.countTexturedDraw(component, image.getTexture());
+	}
+
+	/**
+	 * This method counts drawing the current frame of an animation.
+	 */
+	public void countDraw(RenderComponent component, Animation animation) {
+		Image frame = animation.getCurrentFrame();
+		this.countTexturedDraw(component, frame != null ? frame.getTexture() : null);
+	}
+
+	/**
+	 * This method counts drawing a string with the current font of g.
+	 */
+	public void countString(RenderComponent component, Graphics g) {
+		this.stringDraws[component.ordinal()]++;
+		this.bind(component, g.getFont());
+	}
+
+	/**
+	 * This method counts drawing an untextured shape such as an oval or a rectangle outline.
+	 */
+	public void countShape(RenderComponent component) {
+		this.drawCalls[component.ordinal()]++;
+		this.boundTexture = noTexture;
+	}
+
+	/**
+	 * Getter for the number of image and shape draws of a component in this frame
+	 */
+	public int getDrawCalls(RenderComponent component) {
+		return this.drawCalls[component.ordinal()];
+	}
+
+	/**
+	 * Getter for the number of texture binds of a component in this frame
+	 */
+	public int getTextureBinds(RenderComponent component) {
+		return this.textureBinds[component.ordinal()];
+	}
+
+	/**
+	 * Getter for the number of string draws of a component in this frame
+	 */
+	public int getStringDraws(RenderComponent component) {
+		return this.stringDraws[component.ordinal()];
+	}
+
+	/**
+	 * This method counts a draw call from a texture.
+	 */
+	void countTexturedDraw(RenderComponent component, Object texture) {
+		this.drawCalls[component.ordinal()]++;
+		this.bind(component, texture);
+	}
+
+	/**
+	 * This method counts a texture bind when the texture is not bound already.
+	 */
+	private void bind(RenderComponent component, Object texture) {
+		if (this.boundTexture != texture) {
+			this.textureBinds[component.ordinal()]++;
+			this.boundTexture = texture;
+		}
+	}
+}
@@ -0,0 +1,56 @@
+import org.junit.jupiter.api.Test;
+import org.newdawn.slick.Graphics;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RenderCountersTest {
+    RenderCounters renderCounters = new RenderCounters();
+    Object wallTexture = new Object();
+    Object dotTexture = new Object();
+
+    @Test
+    void bindOnlyWhenTextureChanges() {
+        renderCounters.beginFrame();
+        renderCounters.countTexturedDraw(RenderComponent.MAP, wallTexture);
+        renderCounters.countTexturedDraw(RenderComponent.MAP, wallTexture);
+        renderCounters.countTexturedDraw(RenderComponent.MAP, dotTexture);
+        renderCounters.countTexturedDraw(RenderComponent.MAP, wallTexture);
+        assertEquals(renderCounters.getDrawCalls(RenderComponent.MAP), 4);
+        assertEquals(renderCounters.getTextureBinds(RenderComponent.MAP), 3);
+        assertEquals(renderCounters.getDrawCalls(RenderComponent.GHOST), 0);
+    }
+
+    @Test
+    void rebindAfterShape() {
+        renderCounters.beginFrame();
+        renderCounters.countTexturedDraw(RenderComponent.GHOST, dotTexture);
+        renderCounters.countShape(RenderComponent.GHOST);
+        renderCounters.countTexturedDraw(RenderComponent.GHOST, dotTexture);
+        assertEquals(renderCounters.getDrawCalls(RenderComponent.GHOST), 3);
+        assertEquals(renderCounters.getTextureBinds(RenderComponent.GHOST), 2);
+    }
+
+    @Test
+    void countGameInfoStrings() {
+        renderCounters.beginFrame();
+        // Records nothing, so the strings are counted without a display
+        Graphics g = new Graphics() {
+            @Override
+            public void drawString(String str, float x, float y) {
+            }
+        };
+        new GameInfo().render(g, 1, 0, 3, renderCounters);
+        assertEquals(renderCounters.getStringDraws(RenderComponent.GAME_INFO), 4);
+        assertEquals(renderCounters.getTextureBinds(RenderComponent.GAME_INFO), 1);
+        assertEquals(renderCounters.getDrawCalls(RenderComponent.GAME_INFO), 0);
+    }
+
+    @Test
+    void clearOnBeginFrame() {
+        renderCounters.beginFrame();
+        renderCounters.countTexturedDraw(RenderComponent.PACMAN, dotTexture);
+        renderCounters.beginFrame();
+        assertEquals(renderCounters.getDrawCalls(RenderComponent.PACMAN), 0);
+        assertEquals(renderCounters.getTextureBinds(RenderComponent.PACMAN), 0);
+    }
+}
@@ -2,8 +2,8 @@
  * RowColTuple class defines the structure for a tuple containing row number and column number pair.
  */
 public class RowColTuple {
-    public int col;
-    public int row;
+    public final int col;
+    public final int row;
 
     public RowColTuple(int row, int col) {
         this.row = row;
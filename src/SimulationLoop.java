@@ -0,0 +1,68 @@
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * SimulationLoop runs the simulation of MainGameState on a thread of its own at a fixed tick rate, so that a slow
+ * tick does not delay a frame and a slow frame does not delay the simulation. Every tick publishes a FrameSnapshot
+ * that render draws. It is only used when the game is started with -Dpacman.simulationThread=true.
+ */
+public class SimulationLoop implements Runnable {
+	public static final int defaultTickMillis = 1000 / 60;
+
+	// When the simulation falls further behind than this it drops the missed ticks instead of running them all at once.
+	private static final int maxCatchUpTickCount = 5;
+
+	private final MainGameState mainGameState;
+	private final int tickMillis;
+
+	private volatile boolean isRunning = false;
+	private Thread thread;
+
+	public SimulationLoop(MainGameState mainGameState, int tickMillis) {
+		this.mainGameState = mainGameState;
+		this.tickMillis = tickMillis;
+	}
+
+	/**
+	 * This method starts the simulation thread.
+	 */
+	public void start() {
+		this.isRunning = true;
+		this.thread = new Thread(this, "simulation");
+		// The simulation thread should not keep the game running once the window is closed.
+		this.thread.setDaemon(true);
+		this.thread.start();
+	}
+
+	/**
+	 * This method stops the simulation thread after its current tick.
+	 */
+	public void stop() {
+		this.isRunning = false;
+		if (this.thread != null) {
+			LockSupport.unpark(this.thread);
+		}
+	}
+
+	/**
+	 * Runs one simulation step per tick until stopped.
+	 */
+	@Override
+	public void run() {
+		long tickNanos = this.tickMillis * 1000000L;
+		long nextTickNanos = System.nanoTime();
+		while (this.isRunning) {
+			this.mainGameState.runSimulationStep(this.tickMillis);
+
+			nextTickNanos += tickNanos;
+			if (System.nanoTime() - nextTickNanos > maxCatchUpTickCount * tickNanos) {
+				nextTickNanos = System.nanoTime();
+			}
+			// parkNanos may return early, so wait again until the next tick is due
+			long waitNanos = nextTickNanos - System.nanoTime();
+			while (this.isRunning && waitNanos > 0) {
+				LockSupport.parkNanos(waitNanos);
+				waitNanos = nextTickNanos - System.nanoTime();
+			}
+		}
+	}
+}
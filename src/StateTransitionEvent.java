@@ -0,0 +1,20 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event for GameStateManager changing to another game state.
+ */
+@Name("pacman.StateTransition")
+@Label("State Transition")
+@Category("Pacman")
+@Description("Change of the active game state")
+public class StateTransitionEvent extends Event {
+	@Label("From State")
+	int fromStateId;
+
+	@Label("To State")
+	int toStateId;
+}
@@ -0,0 +1,64 @@
+/**
+ * StateTransitions keeps track of the active game state for GameStateManager and tells which requests to enter a
+ * state are real transitions. Asking for the state that is already active does nothing, so a state can ask for
+ * itself without the state machine leaving and entering it again. The counters show how often the game changed state
+ * and how many requests were dropped.
+ *
+ * It is only used on the render thread, where Slick changes states.
+ */
+public class StateTransitions {
+	private int currentStateId;
+
+	private long transitionCount = 0;
+	private long ignoredRequestCount = 0;
+
+	/**
+	 * Constructor
+	 * @param initialStateId id of the state the game starts in
+	 */
+	public StateTransitions(int initialStateId) {
+		this.currentStateId = initialStateId;
+	}
+
+	/**
+	 * This method tells if a request to enter a state is a transition, and counts it as ignored when it is not.
+	 * @return true when the state is not the active one and has to be entered
+	 */
+	public boolean getIsTransition(int stateId) {
+		if (stateId == this.currentStateId) {
+			this.ignoredRequestCount++;
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * This method records that the game has entered a state, which makes it the active one. It is called once the
+	 * state has been entered, so a failed transition leaves the active state unchanged.
+	 */
+	public void onEntered(int stateId) {
+		this.currentStateId = stateId;
+		this.transitionCount++;
+	}
+
+	/**
+	 * Getter for the id of the active state
+	 */
+	public int getCurrentStateId() {
+		return this.currentStateId;
+	}
+
+	/**
+	 * Getter for the number of times the game entered another state
+	 */
+	public long getTransitionCount() {
+		return this.transitionCount;
+	}
+
+	/**
+	 * Getter for the number of requests to enter the state that was already active
+	 */
+	public long getIgnoredRequestCount() {
+		return this.ignoredRequestCount;
+	}
+}
@@ -0,0 +1,26 @@
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StateTransitionsTest {
+    StateTransitions stateTransitions = new StateTransitions(GameStateManager.mainGameStateId);
+
+    @Test
+    void ignoreRequestForActiveState() {
+        assertFalse(stateTransitions.getIsTransition(GameStateManager.mainGameStateId));
+        assertEquals(stateTransitions.getTransitionCount(), 0);
+        assertEquals(stateTransitions.getIgnoredRequestCount(), 1);
+    }
+
+    @Test
+    void enterOtherState() {
+        assertTrue(stateTransitions.getIsTransition(GameStateManager.gameOverStateId));
+        stateTransitions.onEntered(GameStateManager.gameOverStateId);
+        assertFalse(stateTransitions.getIsTransition(GameStateManager.gameOverStateId));
+        assertTrue(stateTransitions.getIsTransition(GameStateManager.mainGameStateId));
+        stateTransitions.onEntered(GameStateManager.mainGameStateId);
+        assertEquals(stateTransitions.getCurrentStateId(), GameStateManager.mainGameStateId);
+        assertEquals(stateTransitions.getTransitionCount(), 2);
+        assertEquals(stateTransitions.getIgnoredRequestCount(), 1);
+    }
+}
@@ -0,0 +1,46 @@
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * ThreadAllocation reads how many bytes the current thread has allocated, from the per thread allocation counter of
+ * HotSpot. It is used for the allocation metrics of the game loop and by the tests that check render allocates
+ * nothing.
+ */
+public class ThreadAllocation {
+	// Null on virtual machines without the counter
+	private static final com.sun.management.ThreadMXBean allocationCounter = createAllocationCounter();
+
+	private ThreadAllocation() {
+	}
+
+	/**
+	 * This method returns if the allocated bytes can be read on this virtual machine.
+	 */
+	public static boolean getIsSupported() {
+		return allocationCounter != null;
+	}
+
+	/**
+	 * This method returns the number of bytes the current thread has allocated so far, or 0 when unknown.
+	 */
+	public static long getAllocatedBytes() {
+		if (allocationCounter == null) {
+			return 0;
+		}
+		return allocationCounter.getThreadAllocatedBytes(Thread.currentThread().getId());
+	}
+
+	/**
+	 * This method returns the allocation counter of HotSpot enabled, or null when it is not available.
+	 */
+	private static com.sun.management.ThreadMXBean createAllocationCounter() {
+		ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+		if (threadBean instanceof com.sun.management.ThreadMXBean
+				&& ((com.sun.management.ThreadMXBean) threadBean).isThreadAllocatedMemorySupported()) {
+			com.sun.management.ThreadMXBean allocationCounter = (com.sun.management.ThreadMXBean) threadBean;
+			allocationCounter.setThreadAllocatedMemoryEnabled(true);
+			return allocationCounter;
+		}
+		return null;
+	}
+}
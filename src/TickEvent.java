@@ -0,0 +1,31 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for one simulation tick of MainGameState.
+ */
+@Name("pacman.Tick")
+@Label("Tick")
+@Category("Pacman")
+@Description("One simulation tick: input, pacman, map, ghosts and collisions")
+@StackTrace(false)
+public class TickEvent extends Event {
+	@Label("Tick")
+	long tick;
+
+	@Label("Delta Milliseconds")
+	int delta;
+
+	@Label("Level")
+	int level;
+
+	@Label("Ghost Count")
+	int ghostCount;
+
+	@Label("Contact Tested Ghost Count")
+	int contactTestedGhostCount;
+}
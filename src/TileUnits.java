@@ -0,0 +1,89 @@
+/**
+ * TileUnits converts between map tiles and the fixed-point positions the simulation works with. A position is an int
+ * in sub-tile units, tileSize of them per tile, and the position of a tile is its row or column times tileSize. The
+ * tile is in the high bits and the sub-tile offset in the low bits, so positions do not depend on the size of the
+ * window and every turn and wall check is an exact integer comparison. Pixels are only computed for rendering.
+ */
+public final class TileUnits {
+	public static final int tileShift = 8;
+	public static final int tileSize = 1 << tileShift;
+	// Speeds are in TileUnits per tick of this length. A longer tick moves a character proportionally further.
+	public static final int speedTickMillis = 1000 / 60;
+
+	private TileUnits() {
+	}
+
+	/**
+	 * This method returns the position of a tile.
+	 */
+	public static int fromTile(int tile) {
+		return tile << tileShift;
+	}
+
+	/**
+	 * This method returns the tile closest to a position.
+	 */
+	public static int toTile(int position) {
+		return (position + tileSize / 2) >> tileShift;
+	}
+
+	/**
+	 * This method returns the signed offset of a position from the tile closest to it.
+	 */
+	public static int getOffset(int position) {
+		return position - fromTile(toTile(position));
+	}
+
+	/**
+	 * This method returns if a position lies exactly on the center of a tile in both directions.
+	 */
+	public static boolean getIsAtTileCenter(int x, int y) {
+		return ((x | y) & (tileSize - 1)) == 0;
+	}
+
+	/**
+	 * This method returns how far a character at the given speed travels in delta milliseconds.
+	 */
+	public static int getTravelDistance(int speed, int delta) {
+		return speed * delta / speedTickMillis;
+	}
+
+	/**
+	 * This method returns how far a character at x, y moves this step in the given direction at the given speed. The
+	 * step ends at the next tile center when that is closer, so characters never pass a tile center without stopping
+	 * on it and every turn is taken exactly on a center.
+	 */
+	public static int getStepLength(int x, int y, Directions dir, int speed) {
+		int subTileOffset;
+		boolean isForward;
+		switch (dir) {
+			case UP:
+				subTileOffset = y & (tileSize - 1);
+				isForward = false;
+				break;
+			case DOWN:
+				subTileOffset = y & (tileSize - 1);
+				isForward = true;
+				break;
+			case LEFT:
+				subTileOffset = x & (tileSize - 1);
+				isForward = false;
+				break;
+			case RIGHT:
+				subTileOffset = x & (tileSize - 1);
+				isForward = true;
+				break;
+			default:
+				return 0;
+		}
+
+		int distanceToNextCenter;
+		if (subTileOffset == 0) {
+			distanceToNextCenter = tileSize;
+		}
+		else {
+			distanceToNextCenter = isForward ? tileSize - subTileOffset : subTileOffset;
+		}
+		return Math.min(speed, distanceToNextCenter);
+	}
+}
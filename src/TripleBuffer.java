@@ -0,0 +1,51 @@
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * TripleBuffer hands values from one writer thread to one reader thread without locks and without either side ever
+ * waiting for the other. The writer fills the back buffer and publishes it, the reader takes the latest published
+ * buffer. The third buffer sits in the middle, so the writer always has a buffer the reader is not looking at and the
+ * reader keeps its buffer, unchanged, until it asks for a newer one.
+ */
+public class TripleBuffer<T> {
+	private static final int indexMask = 3;
+	// Set in the middle index when the middle buffer was published after the reader last took one.
+	private static final int freshBit = 4;
+
+	private final Object[] buffers;
+	private final AtomicInteger middleIndex = new AtomicInteger(2);
+	// Only touched by the writer
+	private int backIndex = 0;
+	// Only touched by the reader
+	private int frontIndex = 1;
+
+	public TripleBuffer(T first, T second, T third) {
+		this.buffers = new Object[]{first, second, third};
+	}
+
+	/**
+	 * This method returns the buffer the writer may fill. The reader never sees it before it is published.
+	 */
+	@SuppressWarnings("unchecked")
+	public T getBackBuffer() {
+		return (T) this.buffers[this.backIndex];
+	}
+
+	/**
+	 * This method publishes the back buffer and gives the writer the middle buffer to fill next.
+	 */
+	public void publish() {
+		this.backIndex = this.middleIndex.getAndSet(this.backIndex | freshBit) & indexMask;
+	}
+
+	/**
+	 * This method returns the buffer published last. When nothing was published since the last call it returns the
+	 * same buffer again.
+	 */
+	@SuppressWarnings("unchecked")
+	public T getLatest() {
+		if ((this.middleIndex.get() & freshBit) != 0) {
+			this.frontIndex = this.middleIndex.getAndSet(this.frontIndex) & indexMask;
+		}
+		return (T) this.buffers[this.frontIndex];
+	}
+}
@@ -0,0 +1,39 @@
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TripleBufferTest {
+    TripleBuffer<int[]> buffer = new TripleBuffer<>(new int[1], new int[1], new int[1]);
+
+    @Test
+    void getLatestReturnsLastPublishedBuffer() {
+        buffer.getBackBuffer()[0] = 1;
+        buffer.publish();
+        buffer.getBackBuffer()[0] = 2;
+        buffer.publish();
+        assertEquals(buffer.getLatest()[0], 2);
+    }
+
+    @Test
+    void getLatestKeepsBufferUntilNextPublish() {
+        buffer.getBackBuffer()[0] = 1;
+        buffer.publish();
+        int[] latest = buffer.getLatest();
+        assertSame(buffer.getLatest(), latest);
+
+        buffer.getBackBuffer()[0] = 2;
+        assertEquals(latest[0], 1);
+        buffer.publish();
+        assertEquals(buffer.getLatest()[0], 2);
+    }
+
+    @Test
+    void writerNeverGetsBufferHeldByReader() {
+        buffer.publish();
+        int[] latest = buffer.getLatest();
+        for (int i = 0; i < 10; i++) {
+            assertNotSame(buffer.getBackBuffer(), latest);
+            buffer.publish();
+        }
+    }
+}
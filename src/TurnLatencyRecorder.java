@@ -0,0 +1,73 @@
+/**
+ * TurnLatencyRecorder measures the time from an arrow key press to the tick pacman starts moving that way, in
+ * milliseconds and in ticks. Only the latest press asking for a new direction is followed. It stops being followed
+ * when another press replaces it or pacman drops it at a wall.
+ */
+public class TurnLatencyRecorder {
+	private final DynamicRangeHistogram latencyMillis = new DynamicRangeHistogram();
+	private final DynamicRangeHistogram latencyTicks = new DynamicRangeHistogram();
+
+	// Direction asked for by the followed press, null when no press is followed
+	private Directions pendingDir = null;
+	private long pendingPressNanos;
+	private long pendingPressTick;
+
+	/**
+	 * This method is called when a direction key press is handed to pacman.
+	 * @param dir direction asked for
+	 * @param currentDir direction pacman moves in now
+	 * @param pressNanos System.nanoTime when the key was pressed
+	 * @param tick the tick the press is applied in
+	 */
+	public void onTurnRequested(Directions dir, Directions currentDir, long pressNanos, long tick) {
+		if (dir == currentDir) {
+			this.pendingDir = null;
+			return;
+		}
+		this.pendingDir = dir;
+		this.pendingPressNanos = pressNanos;
+		this.pendingPressTick = tick;
+	}
+
+	/**
+	 * This method is called after pacman moved in a tick and records the latency when pacman took the followed turn.
+	 * @param dir direction pacman moves in after the tick
+	 * @param nextDir direction pacman still waits to turn to
+	 * @param nowNanos System.nanoTime now
+	 * @param tick the current tick
+	 */
+	public void onPacmanUpdated(Directions dir, Directions nextDir, long nowNanos, long tick) {
+		if (this.pendingDir == null) {
+			return;
+		}
+		if (dir == this.pendingDir) {
+			this.latencyMillis.record((nowNanos - this.pendingPressNanos) / 1000000);
+			this.latencyTicks.record(tick - this.pendingPressTick);
+			this.pendingDir = null;
+		}
+		else if (nextDir != this.pendingDir) {
+			this.pendingDir = null;
+		}
+	}
+
+	/**
+	 * This method stops following the current press, when the level or the game restarts.
+	 */
+	public void cancel() {
+		this.pendingDir = null;
+	}
+
+	/**
+	 * Getter for the histogram of latencies in milliseconds
+	 */
+	public DynamicRangeHistogram getLatencyMillis() {
+		return this.latencyMillis;
+	}
+
+	/**
+	 * Getter for the histogram of latencies in ticks, 0 when pacman turned in the tick the press was applied in
+	 */
+	public DynamicRangeHistogram getLatencyTicks() {
+		return this.latencyTicks;
+	}
+}
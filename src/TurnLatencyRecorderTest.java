@@ -0,0 +1,36 @@
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TurnLatencyRecorderTest {
+    TurnLatencyRecorder recorder = new TurnLatencyRecorder();
+
+    @Test
+    void recordTurn() {
+        recorder.onTurnRequested(Directions.DOWN, Directions.RIGHT, 0, 10);
+        recorder.onPacmanUpdated(Directions.RIGHT, Directions.DOWN, 16000000, 10);
+        recorder.onPacmanUpdated(Directions.DOWN, Directions.DOWN, 50000000, 13);
+        assertEquals(recorder.getLatencyTicks().getCount(), 1);
+        assertEquals(recorder.getLatencyTicks().getMax(), 3);
+        assertEquals(recorder.getLatencyMillis().getMax(), 50);
+    }
+
+    @Test
+    void dropTurnBlockedByWall() {
+        recorder.onTurnRequested(Directions.UP, Directions.RIGHT, 0, 0);
+        recorder.onPacmanUpdated(Directions.STILL, Directions.STILL, 1000000, 1);
+        recorder.onPacmanUpdated(Directions.UP, Directions.UP, 2000000, 2);
+        assertEquals(recorder.getLatencyTicks().getCount(), 0);
+    }
+
+    @Test
+    void getPercentileOfTicks() {
+        for (int i = 0; i < 10; i++) {
+            recorder.onTurnRequested(Directions.DOWN, Directions.RIGHT, 0, 0);
+            recorder.onPacmanUpdated(Directions.DOWN, Directions.DOWN, 1000000, i);
+        }
+        assertEquals(recorder.getLatencyTicks().getCount(), 10);
+        assertEquals(recorder.getLatencyTicks().getPercentile(50), 4);
+        assertEquals(recorder.getLatencyTicks().getPercentile(100), 9);
+    }
+}
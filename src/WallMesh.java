@@ -0,0 +1,126 @@
+import java.util.Arrays;
+
+/**
+ * WallMesh merges the wall tiles of a map into axis aligned rectangles, so walls are drawn per rectangle instead of per
+ * tile. Collision does not use it, characters move along tile centers and read the open directions of the tiles from
+ * MapData. The merge is greedy: from the top left, every wall tile not covered yet starts a rectangle that grows right
+ * as far as the row allows and then down while the full width stays wall. This is not always the smallest possible set,
+ * but on maze maps it turns every straight wall into one rectangle. Only the rectangles are kept, the tiles covered so
+ * far are tracked in a bit set that is dropped once the merge is done.
+ */
+public class WallMesh {
+	private final int colCount;
+
+	// Rectangles in tiles, one slot per rectangle.
+	private int rectangleCount = 0;
+	private int[] rectangleRows = new int[16];
+	private int[] rectangleCols = new int[16];
+	private int[] rectangleRowCounts = new int[16];
+	private int[] rectangleColCounts = new int[16];
+
+	/**
+	 * Constructor
+	 * @param mapData map to merge the wall tiles of
+	 */
+	public WallMesh(MapData mapData) {
+		int rowCount = mapData.getRowCount();
+		this.colCount = mapData.getColCount();
+		// One bit per tile in row-major order, set once a rectangle covers the tile
+		long[] covered = new long[(int) (((long) rowCount * this.colCount + 63) >> 6)];
+
+		for (int r = 0; r < rowCount; r++) {
+			for (int c = 0; c < this.colCount; c++) {
+				if (!this.getIsUncoveredWall(mapData, covered, r, c)) {
+					continue;
+				}
+				int width = 1;
+				while (c + width < this.colCount && this.getIsUncoveredWall(mapData, covered, r, c + width)) {
+					width++;
+				}
+				int height = 1;
+				while (r + height < rowCount && this.getIsUncoveredWallRun(mapData, covered, r + height, c, width)) {
+					height++;
+				}
+				this.addRectangle(covered, r, c, height, width);
+			}
+		}
+	}
+
+	/**
+	 * Getter for the number of rectangles
+	 */
+	public int getRectangleCount() {
+		return this.rectangleCount;
+	}
+
+	/**
+	 * Getter for the top row of a rectangle
+	 */
+	public int getRow(int index) {
+		return this.rectangleRows[index];
+	}
+
+	/**
+	 * Getter for the left column of a rectangle
+	 */
+	public int getCol(int index) {
+		return this.rectangleCols[index];
+	}
+
+	/**
+	 * Getter for the number of rows a rectangle covers
+	 */
+	public int getRowCount(int index) {
+		return this.rectangleRowCounts[index];
+	}
+
+	/**
+	 * Getter for the number of columns a rectangle covers
+	 */
+	public int getColCount(int index) {
+		return this.rectangleColCounts[index];
+	}
+
+	/**
+	 * This method returns if a tile is a wall that no rectangle covers yet.
+	 */
+	private boolean getIsUncoveredWall(MapData mapData, long[] covered, int row, int col) {
+		long tile = (long) row * this.colCount + col;
+		return mapData.getIsWall(row, col) && (covered[(int) (tile >> 6)] & (1L << tile)) == 0;
+	}
+
+	/**
+	 * This method returns if width tiles of a row starting at col are all uncovered walls.
+	 */
+	private boolean getIsUncoveredWallRun(MapData mapData, long[] covered, int row, int col, int width) {
+		for (int c = col; c < col + width; c++) {
+			if (!this.getIsUncoveredWall(mapData, covered, row, c)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * This method stores a rectangle and marks the tiles it covers.
+	 */
+	private void addRectangle(long[] covered, int row, int col, int rowCount, int colCount) {
+		if (this.rectangleCount == this.rectangleRows.length) {
+			int capacity = this.rectangleCount * 2;
+			this.rectangleRows = Arrays.copyOf(this.rectangleRows, capacity);
+			this.rectangleCols = Arrays.copyOf(this.rectangleCols, capacity);
+			this.rectangleRowCounts = Arrays.copyOf(this.rectangleRowCounts, capacity);
+			this.rectangleColCounts = Arrays.copyOf(this.rectangleColCounts, capacity);
+		}
+		int index = this.rectangleCount++;
+		this.rectangleRows[index] = row;
+		this.rectangleCols[index] = col;
+		this.rectangleRowCounts[index] = rowCount;
+		this.rectangleColCounts[index] = colCount;
+		for (int r = row; r < row + rowCount; r++) {
+			for (long tile = (long) r * this.colCount + col; tile < (long) r * this.colCount + col + colCount; tile++) {
+				covered[(int) (tile >> 6)] |= 1L << tile;
+			}
+		}
+	}
+}
@@ -0,0 +1,44 @@
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WallMeshTest {
+    @Test
+    void mergeBlock() {
+        char[][] mapArray = {
+                "###.".toCharArray(),
+                "###.".toCharArray(),
+                "...#".toCharArray()
+        };
+        WallMesh wallMesh = new WallMesh(new MapData(new RowColTuple(2, 0), new RowColTuple[0], mapArray));
+        assertEquals(wallMesh.getRectangleCount(), 2);
+        assertEquals(wallMesh.getRowCount(0), 2);
+        assertEquals(wallMesh.getColCount(0), 3);
+        assertEquals(wallMesh.getRow(1), 2);
+        assertEquals(wallMesh.getCol(1), 3);
+    }
+
+    @Test
+    void coverEveryWallTileOnce() {
+        MapData mapData = MapCollections.getMapData(1);
+        WallMesh wallMesh = new WallMesh(mapData);
+        int[][] coverCounts = new int[mapData.getRowCount()][mapData.getColCount()];
+        for (int i = 0; i < wallMesh.getRectangleCount(); i++) {
+            for (int r = wallMesh.getRow(i); r < wallMesh.getRow(i) + wallMesh.getRowCount(i); r++) {
+                for (int c = wallMesh.getCol(i); c < wallMesh.getCol(i) + wallMesh.getColCount(i); c++) {
+                    coverCounts[r][c]++;
+                }
+            }
+        }
+        int wallTileCount = 0;
+        for (int r = 0; r < mapData.getRowCount(); r++) {
+            for (int c = 0; c < mapData.getColCount(); c++) {
+                if (mapData.getIsWall(r, c)) {
+                    wallTileCount++;
+                }
+                assertEquals(coverCounts[r][c], mapData.getIsWall(r, c) ? 1 : 0);
+            }
+        }
+        assertTrue(wallMesh.getRectangleCount() < wallTileCount / 2);
+    }
+}